@@ -0,0 +1,51 @@
+package com.yaksha.assignment.admin;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Guards the operator endpoints that change what the instance does. When
+ * admin.token is set, a request needs it in the X-Admin-Token header;
+ * otherwise only requests from the loopback interface are let through.
+ * Behind a proxy on the same host every request is local, so set a token
+ * there. Everything else gets a 403.
+ */
+@Component
+public class AdminAccessInterceptor implements HandlerInterceptor {
+
+	public static final String TOKEN_HEADER = "X-Admin-Token";
+
+	@Value("${admin.token:}")
+	private String token;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws IOException {
+		if (isAllowed(request)) {
+			return true;
+		}
+		response.sendError(HttpServletResponse.SC_FORBIDDEN);
+		return false;
+	}
+
+	private boolean isAllowed(HttpServletRequest request) throws IOException {
+		if (StringUtils.hasText(token)) {
+			String given = request.getHeader(TOKEN_HEADER);
+			// Constant time, so the token cannot be guessed byte by byte
+			return given != null && MessageDigest.isEqual(given.getBytes(StandardCharsets.UTF_8),
+					token.getBytes(StandardCharsets.UTF_8));
+		}
+		// An address literal, so no lookup
+		return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+	}
+}
@@ -0,0 +1,43 @@
+package com.yaksha.assignment.analytics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed decade buckets for age: under 0, 0-9, 10-19 ... 110-119, 120+.
+ */
+public class AgeHistogram {
+
+	private static final int BUCKET_WIDTH = 10;
+	private static final int DECADES = 12;
+
+	// [0] negative, [1..DECADES] decades, [DECADES + 1] overflow
+	private final LongAdder[] buckets = new LongAdder[DECADES + 2];
+
+	public AgeHistogram() {
+		for (int i = 0; i < buckets.length; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	public void add(int age) {
+		int bucket = age < 0 ? 0 : Math.min(age / BUCKET_WIDTH + 1, DECADES + 1);
+		buckets[bucket].increment();
+	}
+
+	public Map<String, Long> snapshot() {
+		Map<String, Long> snapshot = new LinkedHashMap<>();
+		snapshot.put("<0", buckets[0].sum());
+		for (int decade = 0; decade < DECADES; decade++) {
+			int from = decade * BUCKET_WIDTH;
+			snapshot.put(from + "-" + (from + BUCKET_WIDTH - 1), buckets[decade + 1].sum());
+		}
+		snapshot.put(DECADES * BUCKET_WIDTH + "+", buckets[DECADES + 1].sum());
+		return snapshot;
+	}
+
+	public int getBucketCount() {
+		return buckets.length;
+	}
+}
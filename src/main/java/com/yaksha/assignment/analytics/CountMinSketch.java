@@ -0,0 +1,99 @@
+package com.yaksha.assignment.analytics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Count-Min Sketch: fixed memory, never under-estimates, and
+ * over-estimates by at most total/width with high probability.
+ *
+ * Each row hashes the key's UTF-8 bytes with MurmurHash3 (x86, 32-bit) under
+ * its own seed, so the rows are independent: keys that collide in one row,
+ * or share a String.hashCode, are unlikely to collide in the others.
+ */
+public class CountMinSketch {
+
+	private final int depth;
+	private final int width;
+	private final AtomicLongArray counters;
+
+	public CountMinSketch(int depth, int width) {
+		if (Integer.bitCount(width) != 1) {
+			throw new IllegalArgumentException("width must be a power of two: " + width);
+		}
+		this.depth = depth;
+		this.width = width;
+		this.counters = new AtomicLongArray(depth * width);
+	}
+
+	public long add(String key) {
+		byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+		long estimate = Long.MAX_VALUE;
+		for (int row = 0; row < depth; row++) {
+			estimate = Math.min(estimate, counters.incrementAndGet(index(row, bytes)));
+		}
+		return estimate;
+	}
+
+	public long estimate(String key) {
+		byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+		long estimate = Long.MAX_VALUE;
+		for (int row = 0; row < depth; row++) {
+			estimate = Math.min(estimate, counters.get(index(row, bytes)));
+		}
+		return estimate;
+	}
+
+	private int index(int row, byte[] key) {
+		return row * width + (murmur3(key, seed(row)) & (width - 1));
+	}
+
+	private static int seed(int row) {
+		return 0x9E3779B9 * (row + 1);
+	}
+
+	static int murmur3(byte[] data, int seed) {
+		final int c1 = 0xCC9E2D51;
+		final int c2 = 0x1B873593;
+		int h = seed;
+		int blocks = data.length & ~3;
+		for (int i = 0; i < blocks; i += 4) {
+			int k = (data[i] & 0xFF) | (data[i + 1] & 0xFF) << 8 | (data[i + 2] & 0xFF) << 16 | data[i + 3] << 24;
+			k *= c1;
+			k = Integer.rotateLeft(k, 15);
+			k *= c2;
+			h ^= k;
+			h = Integer.rotateLeft(h, 13);
+			h = h * 5 + 0xE6546B64;
+		}
+		int k = 0;
+		switch (data.length & 3) {
+		case 3:
+			k ^= (data[blocks + 2] & 0xFF) << 16;
+			// fall through
+		case 2:
+			k ^= (data[blocks + 1] & 0xFF) << 8;
+			// fall through
+		case 1:
+			k ^= data[blocks] & 0xFF;
+			k *= c1;
+			k = Integer.rotateLeft(k, 15);
+			k *= c2;
+			h ^= k;
+			break;
+		default:
+			break;
+		}
+		h ^= data.length;
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		h *= 0xC2B2AE35;
+		h ^= h >>> 16;
+		return h;
+	}
+
+	public long getMemoryBytes() {
+		return (long) depth * width * Long.BYTES;
+	}
+}
@@ -0,0 +1,89 @@
+package com.yaksha.assignment.analytics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.yaksha.assignment.event.GreetingListener;
+
+/**
+ * Streaming statistics over /greet traffic in constant memory: most greeted
+ * names (Space-Saving, with counts tightened by a Count-Min Sketch) and the
+ * age distribution. Fed through GreetingEvents, so greetings answered by
+ * the page cache or by coalescing are counted too.
+ */
+@Component
+public class GreetingAnalytics implements GreetingListener {
+
+	// Longer names are tracked by their prefix so a tracked entry stays small
+	private static final int MAX_TRACKED_NAME_LENGTH = 64;
+
+	// Rough per-entry cost of a tracked name: map entry, counter and the string itself
+	private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+	private final CountMinSketch sketch;
+	private final HeavyHitters heavyHitters;
+	private final AgeHistogram ages = new AgeHistogram();
+	private final LongAdder total = new LongAdder();
+
+	public GreetingAnalytics(@Value("${analytics.sketch-depth:4}") int sketchDepth,
+			@Value("${analytics.sketch-width:4096}") int sketchWidth,
+			@Value("${analytics.heavy-hitter-stripes:8}") int stripes,
+			@Value("${analytics.heavy-hitters-per-stripe:32}") int perStripe) {
+		this.sketch = new CountMinSketch(sketchDepth, sketchWidth);
+		this.heavyHitters = new HeavyHitters(stripes, perStripe);
+	}
+
+	@Override
+	public void onGreeting(String name, int age, String message) {
+		String key = name.length() > MAX_TRACKED_NAME_LENGTH ? name.substring(0, MAX_TRACKED_NAME_LENGTH) : name;
+		total.increment();
+		sketch.add(key);
+		heavyHitters.add(key, key.hashCode());
+		ages.add(age);
+	}
+
+	public long getTotal() {
+		return total.sum();
+	}
+
+	/**
+	 * Top names with their estimated count: the smaller of the Space-Saving
+	 * and Count-Min upper bounds.
+	 */
+	public List<Map<String, Object>> topNames(int n) {
+		List<Map<String, Object>> top = new ArrayList<>();
+		for (HeavyHitters.Counter counter : heavyHitters.top(n)) {
+			Map<String, Object> entry = new LinkedHashMap<>();
+			entry.put("name", counter.getKey());
+			entry.put("count", Math.min(counter.getCount(), sketch.estimate(counter.getKey())));
+			entry.put("maxError", counter.getError());
+			top.add(entry);
+		}
+		return top;
+	}
+
+	public Map<String, Long> ageHistogram() {
+		return ages.snapshot();
+	}
+
+	public Map<String, Object> memory() {
+		int tracked = heavyHitters.getTrackedKeys();
+		long sketchBytes = sketch.getMemoryBytes();
+		long heavyHitterBytes = (long) tracked * (ENTRY_OVERHEAD_BYTES + 2 * MAX_TRACKED_NAME_LENGTH);
+		long histogramBytes = (long) ages.getBucketCount() * 32;
+
+		Map<String, Object> memory = new LinkedHashMap<>();
+		memory.put("countMinSketchBytes", sketchBytes);
+		memory.put("trackedNames", tracked);
+		memory.put("heavyHitterBytesUpperBound", heavyHitterBytes);
+		memory.put("histogramBytes", histogramBytes);
+		memory.put("totalBytesUpperBound", sketchBytes + heavyHitterBytes + histogramBytes);
+		return memory;
+	}
+}
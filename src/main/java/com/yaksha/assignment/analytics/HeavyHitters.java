@@ -0,0 +1,118 @@
+package com.yaksha.assignment.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving summary of the most frequent keys, split into independently
+ * locked stripes by key hash so concurrent updates rarely contend. Each
+ * stripe tracks a fixed number of keys; an untracked key replaces the
+ * stripe's minimum and inherits its count as the error bound.
+ */
+public class HeavyHitters {
+
+	public static final class Counter {
+
+		private final String key;
+		private long count;
+		private long error;
+
+		Counter(String key, long count, long error) {
+			this.key = key;
+			this.count = count;
+			this.error = error;
+		}
+
+		public String getKey() {
+			return key;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public long getError() {
+			return error;
+		}
+	}
+
+	private static final class Stripe {
+
+		private final Map<String, Counter> counters;
+		private final int capacity;
+
+		Stripe(int capacity) {
+			this.capacity = capacity;
+			this.counters = new HashMap<>(capacity * 2);
+		}
+
+		synchronized void add(String key) {
+			Counter counter = counters.get(key);
+			if (counter != null) {
+				counter.count++;
+				return;
+			}
+			if (counters.size() < capacity) {
+				counters.put(key, new Counter(key, 1, 0));
+				return;
+			}
+			Counter min = null;
+			for (Counter candidate : counters.values()) {
+				if (min == null || candidate.count < min.count) {
+					min = candidate;
+				}
+			}
+			counters.remove(min.key);
+			counters.put(key, new Counter(key, min.count + 1, min.count));
+		}
+
+		synchronized void copyTo(List<Counter> target) {
+			for (Counter counter : counters.values()) {
+				target.add(new Counter(counter.key, counter.count, counter.error));
+			}
+		}
+
+		synchronized int size() {
+			return counters.size();
+		}
+	}
+
+	private final Stripe[] stripes;
+
+	public HeavyHitters(int stripeCount, int capacityPerStripe) {
+		if (Integer.bitCount(stripeCount) != 1) {
+			throw new IllegalArgumentException("stripeCount must be a power of two: " + stripeCount);
+		}
+		stripes = new Stripe[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			stripes[i] = new Stripe(capacityPerStripe);
+		}
+	}
+
+	public void add(String key, int hash) {
+		stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)].add(key);
+	}
+
+	/**
+	 * Snapshot of the tracked keys, highest count first.
+	 */
+	public List<Counter> top(int n) {
+		List<Counter> all = new ArrayList<>();
+		for (Stripe stripe : stripes) {
+			stripe.copyTo(all);
+		}
+		all.sort(Comparator.comparingLong(Counter::getCount).reversed());
+		return all.size() > n ? new ArrayList<>(all.subList(0, n)) : all;
+	}
+
+	public int getTrackedKeys() {
+		int tracked = 0;
+		for (Stripe stripe : stripes) {
+			tracked += stripe.size();
+		}
+		return tracked;
+	}
+}
@@ -0,0 +1,250 @@
+package com.yaksha.assignment.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Off-heap cache of rendered greeting pages, shared between every JVM on the
+ * host that maps the same file (normally under /dev/shm).
+ *
+ * The file is a fixed table of equally sized slots addressed by open
+ * addressing over a short probe window. Readers never lock: each slot carries
+ * a sequence number (odd while being written) and a CRC of its contents, and
+ * a read is only accepted when both are consistent. Writers serialise on a
+ * file lock over the slot table, under which they look for the key, then an
+ * empty slot, then a CLOCK victim in the probe window. Writes only happen on
+ * a miss, so one lock for the table costs little and keeps two processes
+ * from picking the same slot for different keys.
+ */
+public class SharedGreetingCache implements Closeable {
+
+	private static final int MAGIC = 0x47524545; // "GREE"
+	static final int HEADER_SIZE = 64;
+	static final int PROBE_WINDOW = 8;
+
+	// slot layout
+	static final int SEQ = 0;
+	private static final int HASH = 4;
+	private static final int CRC = 8;
+	private static final int KEY_LEN = 12;
+	private static final int VALUE_LEN = 16;
+	private static final int REF = 20;
+	static final int DATA = 24;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final int slots;
+	private final int slotSize;
+	// A JVM may hold only one lock on a region, so its own writers queue here first
+	private final Object writeLock = new Object();
+	private final ThreadLocal<byte[]> scratch;
+
+	private int clockHand;
+
+	public SharedGreetingCache(Path file, int slots, int slotSize) throws IOException {
+		if (Integer.bitCount(slots) != 1) {
+			throw new IllegalArgumentException("slots must be a power of two: " + slots);
+		}
+		this.slots = slots;
+		this.slotSize = slotSize;
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		long size = HEADER_SIZE + (long) slots * slotSize;
+		this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+		this.scratch = ThreadLocal.withInitial(() -> new byte[slotSize]);
+		initHeader();
+	}
+
+	// First process to map the file stamps the geometry; later ones must agree
+	private void initHeader() throws IOException {
+		FileLock lock = channel.lock(0, HEADER_SIZE, false);
+		try {
+			if (buffer.getInt(0) != MAGIC) {
+				buffer.putInt(4, slots);
+				buffer.putInt(8, slotSize);
+				buffer.putInt(0, MAGIC);
+			} else if (buffer.getInt(4) != slots || buffer.getInt(8) != slotSize) {
+				throw new IOException("Shared cache file was created with a different geometry");
+			}
+		} finally {
+			lock.release();
+		}
+	}
+
+	/**
+	 * @param variant anything else the rendered page depends on, such as the
+	 *                Accept-Language header
+	 */
+	public static byte[] key(String name, int age, String variant) {
+		return (name + '\u0000' + age + '\u0000' + variant).getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * A copy of the cached value for the key.
+	 *
+	 * @return the value, or null if the key is absent or was being replaced
+	 */
+	public byte[] get(byte[] key) {
+		int hash = hash(key);
+		byte[] copy = scratch.get();
+		for (int i = 0; i < PROBE_WINDOW; i++) {
+			int base = slotOffset((hash + i) & (slots - 1));
+			int seq = buffer.getInt(base + SEQ);
+			if (seq == 0) {
+				return null; // never written, nothing further along the window
+			}
+			if ((seq & 1) != 0 || buffer.getInt(base + HASH) != hash) {
+				continue;
+			}
+			int keyLen = buffer.getInt(base + KEY_LEN);
+			int valueLen = buffer.getInt(base + VALUE_LEN);
+			int crc = buffer.getInt(base + CRC);
+			if (keyLen != key.length || keyLen + valueLen > slotSize - DATA || valueLen < 0) {
+				continue;
+			}
+			read(base + DATA, copy, keyLen + valueLen);
+			if (buffer.getInt(base + SEQ) != seq || crc(copy, keyLen + valueLen) != crc
+					|| !startsWith(copy, key)) {
+				continue;
+			}
+			buffer.put(base + REF, (byte) 1);
+			return Arrays.copyOfRange(copy, keyLen, keyLen + valueLen);
+		}
+		return null;
+	}
+
+	/**
+	 * Stores the value unless it does not fit in a slot.
+	 */
+	public boolean put(byte[] key, byte[] value) throws IOException {
+		int length = key.length + value.length;
+		if (length > slotSize - DATA) {
+			return false;
+		}
+		int hash = hash(key);
+		synchronized (writeLock) {
+			FileLock lock = channel.lock(HEADER_SIZE, (long) slots * slotSize, false);
+			try {
+				int base = slotOffset(chooseSlot(key, hash));
+				int seq = buffer.getInt(base + SEQ);
+				int writing = (seq & 1) == 0 ? seq + 1 : seq;
+				buffer.putInt(base + SEQ, writing);
+				buffer.putInt(base + HASH, hash);
+				buffer.putInt(base + KEY_LEN, key.length);
+				buffer.putInt(base + VALUE_LEN, value.length);
+				write(base + DATA, key);
+				write(base + DATA + key.length, value);
+				CRC32 crc = new CRC32();
+				crc.update(key);
+				crc.update(value);
+				buffer.putInt(base + CRC, (int) crc.getValue());
+				buffer.put(base + REF, (byte) 1);
+				buffer.putInt(base + SEQ, writing + 1);
+			} finally {
+				lock.release();
+			}
+		}
+		return true;
+	}
+
+	// Same key, then an empty slot, then a CLOCK victim from the probe window.
+	// Called under the table lock, so no slot changes while it looks.
+	private int chooseSlot(byte[] key, int hash) {
+		int home = hash & (slots - 1);
+		int free = -1;
+		for (int i = 0; i < PROBE_WINDOW; i++) {
+			int slot = (home + i) & (slots - 1);
+			int base = slotOffset(slot);
+			int seq = buffer.getInt(base + SEQ);
+			if (seq == 0) {
+				// Nothing further along has ever been written
+				return free >= 0 ? free : slot;
+			}
+			if ((seq & 1) != 0) {
+				// Left half-written by a writer that died
+				free = free >= 0 ? free : slot;
+			} else if (buffer.getInt(base + HASH) == hash && keyEquals(base, key)) {
+				return slot;
+			}
+		}
+		if (free >= 0) {
+			return free;
+		}
+		int start = clockHand++ & (PROBE_WINDOW - 1);
+		for (int sweep = 0; sweep < 2 * PROBE_WINDOW; sweep++) {
+			int slot = (home + ((start + sweep) & (PROBE_WINDOW - 1))) & (slots - 1);
+			int base = slotOffset(slot);
+			if (buffer.get(base + REF) == 0) {
+				return slot;
+			}
+			buffer.put(base + REF, (byte) 0);
+		}
+		return (home + start) & (slots - 1);
+	}
+
+	private int slotOffset(int slot) {
+		return HEADER_SIZE + slot * slotSize;
+	}
+
+	private void read(int offset, byte[] target, int length) {
+		ByteBuffer view = buffer.duplicate();
+		view.position(offset);
+		view.get(target, 0, length);
+	}
+
+	private void write(int offset, byte[] source) {
+		ByteBuffer view = buffer.duplicate();
+		view.position(offset);
+		view.put(source);
+	}
+
+	private static int crc(byte[] data, int length) {
+		CRC32 crc = new CRC32();
+		crc.update(data, 0, length);
+		return (int) crc.getValue();
+	}
+
+	private boolean keyEquals(int base, byte[] key) {
+		if (buffer.getInt(base + KEY_LEN) != key.length) {
+			return false;
+		}
+		for (int i = 0; i < key.length; i++) {
+			if (buffer.get(base + DATA + i) != key[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean startsWith(byte[] data, byte[] prefix) {
+		for (int i = 0; i < prefix.length; i++) {
+			if (data[i] != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int hash(byte[] key) {
+		int h = 0x811c9dc5;
+		for (byte b : key) {
+			h = (h ^ b) * 0x01000193;
+		}
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	public void close() throws IOException {
+		buffer.force();
+		channel.close();
+	}
+}
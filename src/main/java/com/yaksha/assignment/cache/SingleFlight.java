@@ -0,0 +1,78 @@
+package com.yaksha.assignment.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collapses concurrent computations for the same key into one.
+ *
+ * The first caller for a key runs its computation; callers arriving while it
+ * is in flight wait for that result, but never longer than the given timeout.
+ * A follower that times out, or whose leader failed or produced null, runs
+ * its own computation instead.
+ */
+public class SingleFlight<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder executions = new LongAdder();
+	private final LongAdder collapsed = new LongAdder();
+	private final LongAdder timeouts = new LongAdder();
+
+	public V execute(K key, Callable<V> computation, long timeout, TimeUnit unit) throws Exception {
+		CompletableFuture<V> own = new CompletableFuture<>();
+		CompletableFuture<V> leader = inFlight.putIfAbsent(key, own);
+		if (leader == null) {
+			return lead(key, own, computation);
+		}
+
+		V shared = null;
+		try {
+			shared = leader.get(timeout, unit);
+		} catch (TimeoutException e) {
+			timeouts.increment();
+		} catch (ExecutionException e) {
+			// leader failed, fall through and try on our own
+		}
+		if (shared != null) {
+			collapsed.increment();
+			return shared;
+		}
+		executions.increment();
+		return computation.call();
+	}
+
+	private V lead(K key, CompletableFuture<V> own, Callable<V> computation) throws Exception {
+		executions.increment();
+		V result = null;
+		try {
+			result = computation.call();
+			return result;
+		} finally {
+			inFlight.remove(key, own);
+			own.complete(result);
+		}
+	}
+
+	public long getExecutions() {
+		return executions.sum();
+	}
+
+	public long getCollapsed() {
+		return collapsed.sum();
+	}
+
+	public long getTimeouts() {
+		return timeouts.sum();
+	}
+
+	public int getInFlight() {
+		return inFlight.size();
+	}
+}
@@ -0,0 +1,47 @@
+package com.yaksha.assignment.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.yaksha.assignment.model.Greeting;
+
+/**
+ * Encodes {@link Greeting} as JSON or CBOR for API clients of /greet.
+ *
+ * Both writers are bound to the Greeting type up front, so the root serializer
+ * is resolved once instead of on every request, and they write straight to
+ * the response stream without building an intermediate String or byte[].
+ */
+@Component
+public class GreetingEncoder {
+
+	public static final String APPLICATION_CBOR_VALUE = "application/cbor";
+
+	private final ObjectWriter jsonWriter;
+	private final ObjectWriter cborWriter;
+
+	public GreetingEncoder() {
+		this.jsonWriter = prebuilt(new ObjectMapper());
+		this.cborWriter = prebuilt(new ObjectMapper(new CBORFactory()));
+	}
+
+	private static ObjectWriter prebuilt(ObjectMapper mapper) {
+		mapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		return mapper.writerFor(Greeting.class);
+	}
+
+	public void writeJson(Greeting greeting, OutputStream out) throws IOException {
+		jsonWriter.writeValue(out, greeting);
+	}
+
+	public void writeCbor(Greeting greeting, OutputStream out) throws IOException {
+		cborWriter.writeValue(out, greeting);
+	}
+
+}
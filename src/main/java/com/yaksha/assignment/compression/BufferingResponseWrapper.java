@@ -0,0 +1,184 @@
+package com.yaksha.assignment.compression;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Holds back the body of compressible responses so it can be encoded once it
+ * is complete. Whether a response is compressible is decided from its content
+ * type the first time the body is opened; anything else, such as event
+ * streams or downloads, is written straight through. So is the rest of a
+ * body written with non-blocking I/O: setting a write listener sends what has
+ * been held back and hands the listener to the container's stream.
+ */
+public class BufferingResponseWrapper extends HttpServletResponseWrapper {
+
+	private final BufferStream buffer = new BufferStream();
+	private PrintWriter writer;
+	private Boolean buffering;
+
+	public BufferingResponseWrapper(HttpServletResponse response) {
+		super(response);
+	}
+
+	public boolean isBuffering() {
+		return buffering != null && buffering;
+	}
+
+	public byte[] getBuffer() {
+		if (writer != null) {
+			writer.flush();
+		}
+		return buffer.bytes;
+	}
+
+	public int getBufferLength() {
+		if (writer != null) {
+			writer.flush();
+		}
+		return buffer.count;
+	}
+
+	private boolean decide() {
+		if (buffering == null) {
+			buffering = isCompressible(getContentType());
+			if (buffering) {
+				addHeader("Vary", "Accept-Encoding");
+			}
+		}
+		return buffering;
+	}
+
+	private static boolean isCompressible(String contentType) {
+		return contentType != null && (contentType.startsWith("text/html") || contentType.startsWith("text/plain")
+				|| contentType.startsWith("application/json"));
+	}
+
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		return decide() ? buffer : super.getOutputStream();
+	}
+
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		if (writer != null) {
+			return writer;
+		}
+		if (!decide()) {
+			return super.getWriter();
+		}
+		writer = new PrintWriter(new OutputStreamWriter(buffer, getCharacterEncoding()));
+		return writer;
+	}
+
+	// The length is only known once the body has been encoded
+	@Override
+	public void setContentLength(int len) {
+		if (!decide()) {
+			super.setContentLength(len);
+		}
+	}
+
+	@Override
+	public void setContentLengthLong(long len) {
+		if (!decide()) {
+			super.setContentLengthLong(len);
+		}
+	}
+
+	@Override
+	public void flushBuffer() throws IOException {
+		if (writer != null) {
+			writer.flush();
+		}
+		if (!isBuffering()) {
+			super.flushBuffer();
+		}
+	}
+
+	@Override
+	public void resetBuffer() {
+		super.resetBuffer();
+		buffer.count = 0;
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		buffer.count = 0;
+		writer = null;
+		buffering = null;
+	}
+
+	private class BufferStream extends ServletOutputStream {
+
+		private byte[] bytes = new byte[1024];
+		private int count;
+		private ServletOutputStream target;
+
+		@Override
+		public void write(int b) throws IOException {
+			if (target != null) {
+				target.write(b);
+				return;
+			}
+			ensureCapacity(count + 1);
+			bytes[count++] = (byte) b;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (target != null) {
+				target.write(b, off, len);
+				return;
+			}
+			ensureCapacity(count + len);
+			System.arraycopy(b, off, bytes, count, len);
+			count += len;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (target != null) {
+				target.flush();
+			}
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+			}
+		}
+
+		@Override
+		public boolean isReady() {
+			return target == null || target.isReady();
+		}
+
+		// Non-blocking writes cannot be held back, so the body goes out as it is
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			if (target == null) {
+				try {
+					if (writer != null) {
+						writer.flush();
+					}
+					target = BufferingResponseWrapper.super.getOutputStream();
+					target.write(bytes, 0, count);
+				} catch (IOException ex) {
+					throw new IllegalStateException("Could not send the buffered body", ex);
+				}
+				count = 0;
+				buffering = false;
+			}
+			target.setWriteListener(writeListener);
+		}
+	}
+}
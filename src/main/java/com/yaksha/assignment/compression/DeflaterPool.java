@@ -0,0 +1,44 @@
+package com.yaksha.assignment.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Bounded pool of raw (no zlib header) deflaters, so a response does not pay
+ * for allocating and initialising zlib state. Deflaters beyond the pool size
+ * are ended rather than kept.
+ */
+public class DeflaterPool {
+
+	private final int level;
+	private final BlockingQueue<Deflater> idle;
+
+	public DeflaterPool(int level, int size) {
+		this.level = level;
+		this.idle = new ArrayBlockingQueue<>(size);
+	}
+
+	public Deflater acquire() {
+		Deflater deflater = idle.poll();
+		return deflater != null ? deflater : new Deflater(level, true);
+	}
+
+	public void release(Deflater deflater) {
+		deflater.reset();
+		if (!idle.offer(deflater)) {
+			deflater.end();
+		}
+	}
+
+	public int getIdle() {
+		return idle.size();
+	}
+
+	public void close() {
+		Deflater deflater;
+		while ((deflater = idle.poll()) != null) {
+			deflater.end();
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package com.yaksha.assignment.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Gzip encoder that learns the fixed prefix of each template's output and
+ * compresses it only once.
+ *
+ * For each template key the encoder keeps the longest prefix every body seen
+ * so far has shared, together with its deflate encoding, flushed to a byte
+ * boundary. A body that starts with that prefix is written as the cached
+ * encoding followed by the deflated remainder, using the prefix as a preset
+ * dictionary. Because the client has just decoded the prefix, back
+ * references into it resolve against its own window, so the result is a
+ * plain gzip stream that any client can read. A body that does not start
+ * with the prefix shrinks it to what they share; when that gets shorter than
+ * {@link #MIN_PREFIX} the key is compressed without a template from then on.
+ */
+public class TemplateGzipEncoder {
+
+	public static final int MIN_PREFIX = 32;
+
+	private static final byte[] HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+	private static final int WINDOW = 32 * 1024;
+	private static final Fragment NONE = new Fragment(null, null);
+
+	private final DeflaterPool pool;
+	private final int maxTemplates;
+	private final ConcurrentMap<String, Fragment> templates = new ConcurrentHashMap<>();
+
+	private final LongAdder templated = new LongAdder();
+	private final LongAdder plain = new LongAdder();
+
+	public TemplateGzipEncoder(DeflaterPool pool, int maxTemplates) {
+		this.pool = pool;
+		this.maxTemplates = maxTemplates;
+	}
+
+	/** Writes the gzip encoding of body[0, length) to out. */
+	public void encode(String template, byte[] body, int length, ByteArrayOutputStream out) {
+		Fragment fragment = template == null ? NONE : fragment(template, body, length);
+
+		out.write(HEADER, 0, HEADER.length);
+		Deflater deflater = pool.acquire();
+		try {
+			int from = 0;
+			if (fragment.prefix != null) {
+				byte[] prefix = fragment.prefix;
+				out.write(fragment.encoded, 0, fragment.encoded.length);
+				int window = Math.min(prefix.length, WINDOW);
+				deflater.setDictionary(prefix, prefix.length - window, window);
+				from = prefix.length;
+				templated.increment();
+			} else {
+				plain.increment();
+			}
+			deflater.setInput(body, from, length - from);
+			deflater.finish();
+			byte[] chunk = new byte[Math.min(8192, length - from + 64)];
+			while (!deflater.finished()) {
+				int n = deflater.deflate(chunk);
+				out.write(chunk, 0, n);
+			}
+		} finally {
+			pool.release(deflater);
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(body, 0, length);
+		writeIntLE(out, (int) crc.getValue());
+		writeIntLE(out, length);
+	}
+
+	// The template's fragment, created from or shrunk to fit this body
+	private Fragment fragment(String template, byte[] body, int length) {
+		Fragment fragment = templates.get(template);
+		if (fragment == null) {
+			if (templates.size() >= maxTemplates) {
+				return NONE;
+			}
+			fragment = encodePrefix(body, length);
+			Fragment existing = templates.putIfAbsent(template, fragment);
+			return existing == null ? fragment : fragment(template, body, length);
+		}
+		if (fragment.prefix == null) {
+			return NONE;
+		}
+		int shared = sharedPrefix(fragment.prefix, body, length);
+		if (shared == fragment.prefix.length) {
+			return fragment;
+		}
+		Fragment shrunk = shared >= MIN_PREFIX ? encodePrefix(body, shared) : NONE;
+		templates.replace(template, fragment, shrunk);
+		return shrunk;
+	}
+
+	private static int sharedPrefix(byte[] prefix, byte[] body, int length) {
+		int max = Math.min(prefix.length, length);
+		for (int i = 0; i < max; i++) {
+			if (prefix[i] != body[i]) {
+				return i;
+			}
+		}
+		return max;
+	}
+
+	// Deflates the prefix without finishing the stream, ending on a byte boundary
+	private Fragment encodePrefix(byte[] body, int length) {
+		if (length < MIN_PREFIX) {
+			return NONE;
+		}
+		byte[] prefix = Arrays.copyOf(body, length);
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream(length);
+		Deflater deflater = pool.acquire();
+		try {
+			deflater.setInput(prefix);
+			byte[] chunk = new byte[Math.min(8192, length + 64)];
+			int n;
+			do {
+				n = deflater.deflate(chunk, 0, chunk.length, Deflater.SYNC_FLUSH);
+				encoded.write(chunk, 0, n);
+			} while (n == chunk.length);
+		} finally {
+			pool.release(deflater);
+		}
+		return new Fragment(prefix, encoded.toByteArray());
+	}
+
+	private static void writeIntLE(ByteArrayOutputStream out, int value) {
+		out.write(value);
+		out.write(value >>> 8);
+		out.write(value >>> 16);
+		out.write(value >>> 24);
+	}
+
+	public int getTemplateCount() {
+		return templates.size();
+	}
+
+	public long getTemplated() {
+		return templated.sum();
+	}
+
+	public long getPlain() {
+		return plain.sum();
+	}
+
+	private static final class Fragment {
+
+		private final byte[] prefix;
+		private final byte[] encoded;
+
+		Fragment(byte[] prefix, byte[] encoded) {
+			this.prefix = prefix;
+			this.encoded = encoded;
+		}
+	}
+}
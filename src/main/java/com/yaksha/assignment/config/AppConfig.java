@@ -1,23 +1,54 @@
 package com.yaksha.assignment.config;
 
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
 import org.springframework.web.servlet.view.JstlView;
 
+import com.yaksha.assignment.admin.AdminAccessInterceptor;
+import com.yaksha.assignment.i18n.CachingAcceptHeaderLocaleResolver;
+import com.yaksha.assignment.i18n.GreetingMessages;
+import com.yaksha.assignment.logging.AccessLogInterceptor;
+import com.yaksha.assignment.view.CachingViewResolver;
+
 @Configuration
 @EnableWebMvc
 @ComponentScan(basePackages = { "com.yaksha.assignment" })
-public class AppConfig {
+public class AppConfig implements WebMvcConfigurer {
+
+	@Autowired
+	private AccessLogInterceptor accessLogInterceptor;
 
+	@Autowired
+	private AdminAccessInterceptor adminAccessInterceptor;
+
+	// Views under the prefix are resolved at startup; misses are cached too
 	@Bean
-	public InternalResourceViewResolver resolver() {
+	public CachingViewResolver resolver(@Value("${view.cache.max-size:256}") int maxSize,
+			@Value("${view.cache.negative-ttl-seconds:60}") long negativeTtlSeconds) {
 		InternalResourceViewResolver resolver = new InternalResourceViewResolver();
 		resolver.setViewClass(JstlView.class);
-		resolver.setPrefix("/WEB-INF/views/");
-		resolver.setSuffix(".jsp");
-		return resolver;
+		return new CachingViewResolver(resolver, "/WEB-INF/views/", ".jsp", maxSize, negativeTtlSeconds);
+	}
+
+	// Bean name is fixed by DispatcherServlet
+	@Bean
+	public LocaleResolver localeResolver(GreetingMessages greetingMessages) {
+		return new CachingAcceptHeaderLocaleResolver(greetingMessages.getSupportedLocales(), Locale.ENGLISH);
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(accessLogInterceptor);
+		registry.addInterceptor(adminAccessInterceptor).addPathPatterns("/drain", "/profiling/**");
 	}
 }
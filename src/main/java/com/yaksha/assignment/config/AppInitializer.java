@@ -1,7 +1,20 @@
 package com.yaksha.assignment.config;
 
+import java.util.EnumSet;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterRegistration;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.filter.DelegatingFilterProxy;
+import org.springframework.web.servlet.FrameworkServlet;
 import org.springframework.web.servlet.support.AbstractAnnotationConfigDispatcherServletInitializer;
 
+import com.yaksha.assignment.profiling.ProfilingDispatcherServlet;
+
 public class AppInitializer extends AbstractAnnotationConfigDispatcherServletInitializer {
 
 	@Override
@@ -20,4 +33,33 @@ public class AppInitializer extends AbstractAnnotationConfigDispatcherServletIni
 		return new String[] { "/" };
 	}
 
+	// Emits flight recorder events for each stage of the pipeline
+	@Override
+	protected FrameworkServlet createDispatcherServlet(WebApplicationContext servletAppContext) {
+		return new ProfilingDispatcherServlet(servletAppContext);
+	}
+
+	// The form is served by the JSP servlet as the welcome file, so its hints filter is mapped by URL
+	@Override
+	public void onStartup(ServletContext servletContext) throws ServletException {
+		super.onStartup(servletContext);
+		FilterRegistration.Dynamic hints = servletContext.addFilter("resourceHintsFilter",
+				proxy("resourceHintsFilter"));
+		hints.addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST), false, "/", "/index.jsp", "/greet");
+	}
+
+	// Filters are beans of the dispatcher context, applied in this order
+	@Override
+	protected Filter[] getServletFilters() {
+		return new Filter[] { proxy("firstMinuteLatencyFilter"), proxy("accessLogFilter"), proxy("drainFilter"),
+				proxy("responseCompressionFilter"), proxy("greetingValidationFilter"), proxy("greetingCacheFilter"),
+				proxy("greetingCoalescingFilter") };
+	}
+
+	private Filter proxy(String beanName) {
+		DelegatingFilterProxy proxy = new DelegatingFilterProxy(beanName);
+		proxy.setContextAttribute(FrameworkServlet.SERVLET_CONTEXT_PREFIX + getServletName());
+		return proxy;
+	}
+
 }
@@ -1,13 +1,34 @@
 package com.yaksha.assignment.controller;
 
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.yaksha.assignment.codec.GreetingEncoder;
+import com.yaksha.assignment.event.GreetingEvents;
+import com.yaksha.assignment.i18n.GreetingMessages;
+import com.yaksha.assignment.model.Greeting;
+
 @Controller
 public class GreetingController {
 
+	@Autowired
+	private GreetingEncoder greetingEncoder;
+
+	@Autowired(required = false)
+	private GreetingMessages greetingMessages;
+
+	@Autowired(required = false)
+	private GreetingEvents greetingEvents;
+
 	// Display form for user input
 	@GetMapping("/")
 	public String showForm() {
@@ -17,8 +38,45 @@ public class GreetingController {
 	// Process the form and display personalized greeting
 	@GetMapping("/greet")
 	public String greetUser(@RequestParam String name, @RequestParam int age, Model model) {
-		String greetingMessage = "Hello, " + name + ". You are " + age + " years old!";
+		String greetingMessage = greetingMessage(name, age);
+		notifyListeners(name, age, greetingMessage);
 		model.addAttribute("greetingMessage", greetingMessage);
+		// A tenant with its own template gets that instead, see GreetingTemplateRegistry
 		return "greeting";
 	}
+
+	// Same greeting for API clients asking for JSON
+	@GetMapping(value = "/greet", produces = MediaType.APPLICATION_JSON_VALUE)
+	public void greetUserJson(@RequestParam String name, @RequestParam int age, HttpServletResponse response)
+			throws IOException {
+		String greetingMessage = greetingMessage(name, age);
+		notifyListeners(name, age, greetingMessage);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		greetingEncoder.writeJson(new Greeting(name, age, greetingMessage), response.getOutputStream());
+	}
+
+	// Same greeting for API clients asking for CBOR
+	@GetMapping(value = "/greet", produces = GreetingEncoder.APPLICATION_CBOR_VALUE)
+	public void greetUserCbor(@RequestParam String name, @RequestParam int age, HttpServletResponse response)
+			throws IOException {
+		String greetingMessage = greetingMessage(name, age);
+		notifyListeners(name, age, greetingMessage);
+		response.setContentType(GreetingEncoder.APPLICATION_CBOR_VALUE);
+		greetingEncoder.writeCbor(new Greeting(name, age, greetingMessage), response.getOutputStream());
+	}
+
+	// Localized from the request's Accept-Language when the message bundles are available
+	private String greetingMessage(String name, int age) {
+		if (greetingMessages == null) {
+			return "Hello, " + name + ". You are " + age + " years old!";
+		}
+		return greetingMessages.format(LocaleContextHolder.getLocale(), name, age);
+	}
+
+	// History, analytics and other consumers of every real greeting
+	private void notifyListeners(String name, int age, String greetingMessage) {
+		if (greetingEvents != null) {
+			greetingEvents.greeted(name, age, greetingMessage);
+		}
+	}
 }
@@ -0,0 +1,35 @@
+package com.yaksha.assignment.controller;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import com.yaksha.assignment.feed.GreetingFeed;
+import com.yaksha.assignment.feed.ServletFeedSink;
+
+@Controller
+public class GreetingFeedController {
+
+	@Autowired
+	private GreetingFeed greetingFeed;
+
+	// Server-Sent Events stream of greetings as they are created
+	@GetMapping("/greetings/stream")
+	public void stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+			HttpServletRequest request, HttpServletResponse response) throws IOException {
+		response.setContentType("text/event-stream");
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader("Cache-Control", "no-cache");
+
+		AsyncContext asyncContext = request.startAsync();
+		asyncContext.setTimeout(0);
+		ServletFeedSink.open(asyncContext, greetingFeed, lastEventId);
+	}
+}
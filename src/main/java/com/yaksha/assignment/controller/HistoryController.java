@@ -0,0 +1,27 @@
+package com.yaksha.assignment.controller;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.yaksha.assignment.history.GreetingHistory;
+import com.yaksha.assignment.history.GreetingRecord;
+
+@RestController
+public class HistoryController {
+
+	private static final int MAX_LIMIT = 10000;
+
+	@Autowired
+	private GreetingHistory greetingHistory;
+
+	// Most recent greetings, oldest first
+	@GetMapping("/history")
+	public List<GreetingRecord> history(@RequestParam(defaultValue = "100") int limit) throws IOException {
+		return greetingHistory.recent(Math.min(Math.max(limit, 0), MAX_LIMIT));
+	}
+}
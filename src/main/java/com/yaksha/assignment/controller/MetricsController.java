@@ -0,0 +1,29 @@
+package com.yaksha.assignment.controller;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.yaksha.assignment.metrics.MetricsSource;
+
+@RestController
+public class MetricsController {
+
+	@Autowired(required = false)
+	private List<MetricsSource> sources = Collections.emptyList();
+
+	// Snapshot of every registered metrics source, keyed by its name
+	@GetMapping("/metrics")
+	public Map<String, Map<String, Object>> metrics() {
+		Map<String, Map<String, Object>> metrics = new TreeMap<>();
+		for (MetricsSource source : sources) {
+			metrics.put(source.getMetricsName(), source.getMetrics());
+		}
+		return metrics;
+	}
+}
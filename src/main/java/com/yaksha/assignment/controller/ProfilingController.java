@@ -0,0 +1,60 @@
+package com.yaksha.assignment.controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.yaksha.assignment.profiling.FlightRecorderService;
+
+@RestController
+public class ProfilingController {
+
+	@Autowired
+	private FlightRecorderService flightRecorderService;
+
+	// Starts a flight recording, 409 if one is already running, 404 unless profiling is enabled
+	@PostMapping("/profiling/start")
+	public ResponseEntity<Map<String, Object>> start(@RequestParam(required = false) Long thresholdMs)
+			throws IOException, ParseException {
+		if (!flightRecorderService.isEnabled()) {
+			return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+		}
+		boolean started = flightRecorderService.start(thresholdMs);
+		return new ResponseEntity<>(Collections.singletonMap("recording", true),
+				started ? HttpStatus.OK : HttpStatus.CONFLICT);
+	}
+
+	// Ends the recording and downloads it as a .jfr file
+	@PostMapping("/profiling/dump")
+	public void dump(HttpServletResponse response) throws IOException {
+		if (!flightRecorderService.isEnabled()) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		Path file = flightRecorderService.dump();
+		if (file == null) {
+			response.sendError(HttpServletResponse.SC_CONFLICT, "No recording in progress");
+			return;
+		}
+		try {
+			response.setContentType("application/octet-stream");
+			response.setHeader("Content-Disposition", "attachment; filename=\"yaksha.jfr\"");
+			response.setContentLengthLong(Files.size(file));
+			Files.copy(file, response.getOutputStream());
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.yaksha.assignment.controller;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.yaksha.assignment.drain.DrainCoordinator;
+import com.yaksha.assignment.warmup.FirstMinuteLatency;
+import com.yaksha.assignment.warmup.WarmupService;
+
+@RestController
+public class ReadinessController {
+
+	@Autowired
+	private WarmupService warmupService;
+
+	@Autowired
+	private FirstMinuteLatency firstMinuteLatency;
+
+	@Autowired
+	private DrainCoordinator drainCoordinator;
+
+	// 200 once warm-up has settled, 503 before that or while draining, for load balancer health checks
+	@GetMapping("/ready")
+	public ResponseEntity<Map<String, Object>> ready() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("warmup", warmupService.report());
+		report.put("firstMinute", firstMinuteLatency.report());
+		report.put("draining", drainCoordinator.isDraining());
+		HttpStatus status = warmupService.isReady() && !drainCoordinator.isDraining() ? HttpStatus.OK
+				: HttpStatus.SERVICE_UNAVAILABLE;
+		return new ResponseEntity<>(report, status);
+	}
+
+	// Stops taking new work and waits for in-flight requests, ahead of a redeploy
+	@PostMapping("/drain")
+	public Map<String, Object> drain(@RequestParam(defaultValue = "10000") long timeoutMs) {
+		return drainCoordinator.drain(timeoutMs);
+	}
+
+	// Takes requests again if the redeploy is called off, 409 if not draining
+	@DeleteMapping("/drain")
+	public ResponseEntity<Map<String, Object>> cancelDrain() {
+		boolean cancelled = drainCoordinator.cancel();
+		return new ResponseEntity<>(Collections.singletonMap("cancelled", cancelled),
+				cancelled ? HttpStatus.OK : HttpStatus.CONFLICT);
+	}
+}
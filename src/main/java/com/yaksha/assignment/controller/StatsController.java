@@ -0,0 +1,31 @@
+package com.yaksha.assignment.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.yaksha.assignment.analytics.GreetingAnalytics;
+
+@RestController
+public class StatsController {
+
+	private static final int MAX_TOP = 100;
+
+	@Autowired
+	private GreetingAnalytics greetingAnalytics;
+
+	// Most greeted names, age distribution and the memory they take
+	@GetMapping("/stats")
+	public Map<String, Object> stats(@RequestParam(defaultValue = "10") int top) {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("totalGreetings", greetingAnalytics.getTotal());
+		stats.put("topNames", greetingAnalytics.topNames(Math.min(Math.max(top, 0), MAX_TOP)));
+		stats.put("ageHistogram", greetingAnalytics.ageHistogram());
+		stats.put("memory", greetingAnalytics.memory());
+		return stats;
+	}
+}
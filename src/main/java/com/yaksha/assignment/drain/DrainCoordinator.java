@@ -0,0 +1,204 @@
+package com.yaksha.assignment.drain;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.yaksha.assignment.metrics.MetricsSource;
+
+/**
+ * Drain mode for rolling deploys.
+ *
+ * Every dispatcher request is counted in and out by the DrainFilter, async
+ * ones when their async cycle completes. Draining makes /ready fail and new
+ * requests get a 503, tells each {@link DrainListener} to end long-lived
+ * work, waits up to the deadline for the in-flight count to reach zero and
+ * then has the listeners flush their buffers. It runs when asked through
+ * /drain, or at the latest when the context closes, before any bean is
+ * destroyed. A drain asked for through /drain can be cancelled, while it
+ * waits or after it has finished, and the instance takes requests again;
+ * one started by the context closing cannot.
+ */
+@Component
+public class DrainCoordinator implements MetricsSource {
+
+	private static final Log logger = LogFactory.getLog(DrainCoordinator.class);
+
+	@Value("${drain.timeout-ms:10000}")
+	private long timeoutMillis;
+
+	@Autowired(required = false)
+	private List<DrainListener> listeners = Collections.emptyList();
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final LongAdder rejected = new LongAdder();
+
+	private volatile boolean draining;
+	private volatile Map<String, Object> report;
+
+	// Guarded by this
+	private boolean inProgress;
+	private boolean closing;
+
+	/**
+	 * Counts a request in, or returns false if it should be turned away.
+	 */
+	public boolean tryEnter() {
+		if (draining) {
+			rejected.increment();
+			return false;
+		}
+		inFlight.incrementAndGet();
+		// Drain may have started between the check and the increment
+		if (draining) {
+			exit();
+			rejected.increment();
+			return false;
+		}
+		return true;
+	}
+
+	public void exit() {
+		if (inFlight.decrementAndGet() == 0 && draining) {
+			synchronized (this) {
+				notifyAll();
+			}
+		}
+	}
+
+	public boolean isDraining() {
+		return draining;
+	}
+
+	@EventListener
+	public void onContextClosed(ContextClosedEvent event) {
+		synchronized (this) {
+			closing = true;
+		}
+		drain(timeoutMillis);
+	}
+
+	/**
+	 * Drains once and returns the report; later calls return the same report,
+	 * waiting for a drain in progress to end first. A drain cancelled while it
+	 * waits returns a report saying so and does not flush.
+	 */
+	public synchronized Map<String, Object> drain(long timeoutMillis) {
+		while (inProgress) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return Collections.<String, Object> singletonMap("interrupted", true);
+			}
+		}
+		if (report != null) {
+			return report;
+		}
+		inProgress = true;
+		try {
+			return drainInProgress(timeoutMillis);
+		} finally {
+			inProgress = false;
+			notifyAll();
+		}
+	}
+
+	// Waiting releases the monitor, so cancel() and exit() get through meanwhile
+	private Map<String, Object> drainInProgress(long timeoutMillis) {
+		long start = System.nanoTime();
+		int inFlightAtStart = inFlight.get();
+		draining = true;
+		for (DrainListener listener : listeners) {
+			listener.onDrainStart();
+		}
+
+		long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		long remaining;
+		while (draining && inFlight.get() > 0 && (remaining = deadline - System.nanoTime()) > 0) {
+			try {
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		long waitNanos = System.nanoTime() - start;
+		int abandoned = inFlight.get();
+		if (!draining) {
+			Map<String, Object> cancelled = new LinkedHashMap<>();
+			cancelled.put("inFlightAtStart", inFlightAtStart);
+			cancelled.put("cancelled", true);
+			cancelled.put("waitMillis", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+			return cancelled;
+		}
+
+		long flushStart = System.nanoTime();
+		for (DrainListener listener : listeners) {
+			try {
+				listener.onDrained();
+			} catch (IOException | RuntimeException e) {
+				logger.error("Flush on drain failed", e);
+			}
+		}
+		long flushNanos = System.nanoTime() - flushStart;
+
+		Map<String, Object> drained = new LinkedHashMap<>();
+		drained.put("inFlightAtStart", inFlightAtStart);
+		drained.put("abandoned", abandoned);
+		drained.put("timedOut", abandoned > 0);
+		drained.put("waitMillis", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+		drained.put("flushMillis", TimeUnit.NANOSECONDS.toMillis(flushNanos));
+		drained.put("drainMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		report = drained;
+		logger.info("Drained: " + drained);
+		return drained;
+	}
+
+	/**
+	 * Takes requests again after a drain asked for through /drain, whether it
+	 * is still waiting or has finished. Returns false if there is no drain to
+	 * cancel or the context is closing.
+	 */
+	public synchronized boolean cancel() {
+		if (!draining || closing) {
+			return false;
+		}
+		draining = false;
+		report = null;
+		notifyAll();
+		logger.info("Drain cancelled");
+		return true;
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "drain";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("draining", draining);
+		metrics.put("inFlight", inFlight.get());
+		metrics.put("rejected", rejected.sum());
+		Map<String, Object> drained = report;
+		if (drained != null) {
+			metrics.put("report", drained);
+		}
+		return metrics;
+	}
+}
@@ -0,0 +1,23 @@
+package com.yaksha.assignment.drain;
+
+import java.io.IOException;
+
+/**
+ * Component taking part in a drain, see {@link DrainCoordinator}.
+ */
+public interface DrainListener {
+
+	/**
+	 * Called when draining starts. Work that would otherwise outlive the
+	 * deadline, such as open event streams, should be ended here.
+	 */
+	default void onDrainStart() {
+	}
+
+	/**
+	 * Called once in-flight requests have finished or the deadline has
+	 * passed, to write out anything still buffered.
+	 */
+	default void onDrained() throws IOException {
+	}
+}
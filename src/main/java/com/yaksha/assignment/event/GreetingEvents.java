@@ -0,0 +1,50 @@
+package com.yaksha.assignment.event;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.LocaleResolver;
+
+import com.yaksha.assignment.i18n.GreetingMessages;
+import com.yaksha.assignment.warmup.WarmupContext;
+
+/**
+ * Hands every greeting served to the {@link GreetingListener}s, whether the
+ * controller produced it or a filter answered from a page rendered earlier.
+ * Greetings served to the warm-up are not real traffic and are dropped. A
+ * prefetched greeting is recorded when it is served, since the browser
+ * answers the submission from its prefetch cache without asking again.
+ */
+@Component
+public class GreetingEvents {
+
+	@Autowired(required = false)
+	private List<GreetingListener> greetingListeners = Collections.emptyList();
+
+	@Autowired
+	private GreetingMessages greetingMessages;
+
+	@Autowired
+	private LocaleResolver localeResolver;
+
+	public void greeted(String name, int age, String message) {
+		if (WarmupContext.isWarmingUp()) {
+			return;
+		}
+		for (GreetingListener listener : greetingListeners) {
+			listener.onGreeting(name, age, message);
+		}
+	}
+
+	// For pages served without reaching the controller, in the request's locale
+	public void greeted(HttpServletRequest request, String name, int age) {
+		if (WarmupContext.isWarmingUp() || greetingListeners.isEmpty()) {
+			return;
+		}
+		greeted(name, age, greetingMessages.format(localeResolver.resolveLocale(request), name, age));
+	}
+}
@@ -0,0 +1,12 @@
+package com.yaksha.assignment.event;
+
+/**
+ * Notified on the request thread, through {@link GreetingEvents}, for every
+ * greeting served. Implementations must return quickly and hand any real
+ * work to their own threads.
+ */
+public interface GreetingListener {
+
+	void onGreeting(String name, int age, String message);
+
+}
@@ -0,0 +1,60 @@
+package com.yaksha.assignment.feed;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of encoded feed frames shared by every subscriber. Each
+ * subscriber only keeps a cursor into it; frames older than one ring length
+ * are overwritten regardless of who has read them, so publishing never
+ * waits for a subscriber.
+ */
+public class FeedRing {
+
+	static final class Frame {
+
+		final long sequence;
+		final byte[] bytes;
+
+		Frame(long sequence, byte[] bytes) {
+			this.sequence = sequence;
+			this.bytes = bytes;
+		}
+	}
+
+	private final AtomicReferenceArray<Frame> frames;
+	private final int mask;
+	private final AtomicLong next = new AtomicLong();
+
+	public FeedRing(int capacity) {
+		if (Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+		}
+		frames = new AtomicReferenceArray<>(capacity);
+		mask = capacity - 1;
+	}
+
+	// Reserves the next sequence; readers wait at it until it is stored
+	public long claim() {
+		return next.getAndIncrement();
+	}
+
+	public void store(long sequence, byte[] bytes) {
+		frames.set((int) sequence & mask, new Frame(sequence, bytes));
+	}
+
+	// Sequence the next published frame will get
+	public long head() {
+		return next.get();
+	}
+
+	public int capacity() {
+		return frames.length();
+	}
+
+	// Frame for the sequence, or null if not published yet or already overwritten
+	Frame get(long sequence) {
+		Frame frame = frames.get((int) sequence & mask);
+		return frame != null && frame.sequence == sequence ? frame : null;
+	}
+}
@@ -0,0 +1,20 @@
+package com.yaksha.assignment.feed;
+
+import java.io.IOException;
+
+/**
+ * Non-blocking destination of one feed subscriber. {@link #write(byte[])}
+ * is only called after {@link #isReady()} returned true, and never from two
+ * threads at once.
+ */
+public interface FeedSink {
+
+	boolean isReady();
+
+	void write(byte[] frame) throws IOException;
+
+	void flush() throws IOException;
+
+	void close();
+
+}
@@ -0,0 +1,250 @@
+package com.yaksha.assignment.feed;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.yaksha.assignment.codec.GreetingEncoder;
+import com.yaksha.assignment.drain.DrainListener;
+import com.yaksha.assignment.event.GreetingListener;
+import com.yaksha.assignment.metrics.MetricsSource;
+import com.yaksha.assignment.model.Greeting;
+
+/**
+ * Live feed of greetings as Server-Sent Events.
+ *
+ * Each greeting is encoded once into an SSE frame and published to a shared
+ * {@link FeedRing}. A single fan-out thread walks the subscribers and writes
+ * each one's pending frames for as long as its sink accepts them without
+ * blocking; a sink that is not ready is simply skipped until it calls
+ * {@link #drain(Subscription)} again. A subscriber that falls a whole ring
+ * behind is either dropped or skipped forward to recent events, depending on
+ * feed.slow-consumer-policy.
+ */
+@Component
+public class GreetingFeed implements GreetingListener, MetricsSource, DrainListener, DisposableBean {
+
+	public enum SlowConsumerPolicy {
+		DROP, SKIP
+	}
+
+	private static final byte[] KEEPALIVE = ": keepalive\n\n".getBytes(StandardCharsets.UTF_8);
+
+	public static final class Subscription {
+
+		private final FeedSink sink;
+		private long cursor;
+		private volatile boolean closed;
+
+		Subscription(FeedSink sink, long cursor) {
+			this.sink = sink;
+			this.cursor = cursor;
+		}
+	}
+
+	private final GreetingEncoder encoder;
+	private final FeedRing ring;
+	private final SlowConsumerPolicy policy;
+	private final long keepaliveNanos;
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+	private final Thread fanOut;
+	private volatile boolean running = true;
+
+	private final LongAdder published = new LongAdder();
+	private final LongAdder delivered = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+
+	@Autowired
+	public GreetingFeed(GreetingEncoder encoder, @Value("${feed.ring-size:4096}") int ringSize,
+			@Value("${feed.slow-consumer-policy:SKIP}") SlowConsumerPolicy policy,
+			@Value("${feed.keepalive-seconds:15}") long keepaliveSeconds) {
+		this.encoder = encoder;
+		this.ring = new FeedRing(ringSize);
+		this.policy = policy;
+		this.keepaliveNanos = TimeUnit.SECONDS.toNanos(keepaliveSeconds);
+		this.fanOut = new Thread(this::fanOutLoop, "greeting-feed-fan-out");
+		this.fanOut.setDaemon(true);
+		this.fanOut.start();
+	}
+
+	@Override
+	public void onGreeting(String name, int age, String message) {
+		publish(new Greeting(name, age, message));
+	}
+
+	public long publish(Greeting greeting) {
+		long sequence = ring.claim();
+		ring.store(sequence, encode(sequence, greeting));
+		published.increment();
+		LockSupport.unpark(fanOut);
+		return sequence;
+	}
+
+	private byte[] encode(long id, Greeting greeting) {
+		ByteArrayOutputStream frame = new ByteArrayOutputStream(128);
+		try {
+			frame.write(("id: " + id + "\nevent: greeting\ndata: ").getBytes(StandardCharsets.UTF_8));
+			encoder.writeJson(greeting, frame);
+			frame.write('\n');
+			frame.write('\n');
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return frame.toByteArray();
+	}
+
+	/**
+	 * Subscribes to greetings published from now on, or from just after
+	 * lastEventId if that is still in the ring.
+	 */
+	public Subscription subscribe(FeedSink sink, Long lastEventId) {
+		long head = ring.head();
+		long cursor = head;
+		if (lastEventId != null && lastEventId < head && head - (lastEventId + 1) <= ring.capacity()) {
+			cursor = lastEventId + 1;
+		}
+		Subscription subscription = new Subscription(sink, cursor);
+		subscriptions.add(subscription);
+		return subscription;
+	}
+
+	public void unsubscribe(Subscription subscription) {
+		subscription.closed = true;
+		subscriptions.remove(subscription);
+	}
+
+	/**
+	 * Writes everything pending for the subscriber that its sink accepts
+	 * without blocking. Safe to call from the fan-out thread and from the
+	 * container's write-possible callback.
+	 */
+	public void drain(Subscription subscription) {
+		synchronized (subscription) {
+			if (subscription.closed) {
+				return;
+			}
+			try {
+				long head = ring.head();
+				if (head - subscription.cursor > ring.capacity() && !lapped(subscription, head)) {
+					return;
+				}
+				boolean wrote = false;
+				while (subscription.cursor < head && subscription.sink.isReady()) {
+					FeedRing.Frame frame = ring.get(subscription.cursor);
+					if (frame == null) {
+						break; // claimed but not yet stored; its publisher will wake us again
+					}
+					subscription.sink.write(frame.bytes);
+					subscription.cursor++;
+					delivered.increment();
+					wrote = true;
+				}
+				if (wrote && subscription.sink.isReady()) {
+					subscription.sink.flush();
+				}
+			} catch (IOException | RuntimeException e) {
+				close(subscription);
+			}
+		}
+	}
+
+	// Returns whether the subscriber may carry on
+	private boolean lapped(Subscription subscription, long head) {
+		if (policy == SlowConsumerPolicy.DROP) {
+			dropped.increment();
+			close(subscription);
+			return false;
+		}
+		long resumeAt = head - ring.capacity() / 2;
+		skipped.add(resumeAt - subscription.cursor);
+		subscription.cursor = resumeAt;
+		return true;
+	}
+
+	private void close(Subscription subscription) {
+		unsubscribe(subscription);
+		subscription.sink.close();
+	}
+
+	private void fanOutLoop() {
+		long lastKeepalive = System.nanoTime();
+		while (running) {
+			LockSupport.parkNanos(this, keepaliveNanos);
+			for (Subscription subscription : subscriptions) {
+				drain(subscription);
+			}
+			if (System.nanoTime() - lastKeepalive >= keepaliveNanos) {
+				for (Subscription subscription : subscriptions) {
+					keepalive(subscription);
+				}
+				lastKeepalive = System.nanoTime();
+			}
+		}
+	}
+
+	// Lets proxies and the container notice dead connections on an idle feed
+	private void keepalive(Subscription subscription) {
+		synchronized (subscription) {
+			try {
+				if (!subscription.closed && subscription.sink.isReady()) {
+					subscription.sink.write(KEEPALIVE);
+					subscription.sink.flush();
+				}
+			} catch (IOException | RuntimeException e) {
+				close(subscription);
+			}
+		}
+	}
+
+	public int getSubscriberCount() {
+		return subscriptions.size();
+	}
+
+	// Streams never finish on their own; clients reconnect elsewhere with Last-Event-ID
+	@Override
+	public void onDrainStart() {
+		for (Subscription subscription : subscriptions) {
+			synchronized (subscription) {
+				close(subscription);
+			}
+		}
+	}
+
+	@Override
+	public void destroy() {
+		running = false;
+		LockSupport.unpark(fanOut);
+		for (Subscription subscription : subscriptions) {
+			close(subscription);
+		}
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "greetingFeed";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("subscribers", subscriptions.size());
+		metrics.put("published", published.sum());
+		metrics.put("delivered", delivered.sum());
+		metrics.put("skipped", skipped.sum());
+		metrics.put("droppedSubscribers", dropped.sum());
+		return metrics;
+	}
+}
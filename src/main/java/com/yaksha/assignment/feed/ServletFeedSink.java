@@ -0,0 +1,89 @@
+package com.yaksha.assignment.feed;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+/**
+ * Feed subscriber backed by an async servlet response in non-blocking mode.
+ * The container calls back when the connection can take more data, which
+ * resumes draining from the feed.
+ */
+public class ServletFeedSink implements FeedSink, WriteListener, AsyncListener {
+
+	private final AsyncContext asyncContext;
+	private final ServletOutputStream out;
+	private final GreetingFeed feed;
+	private GreetingFeed.Subscription subscription;
+
+	private ServletFeedSink(AsyncContext asyncContext, GreetingFeed feed) throws IOException {
+		this.asyncContext = asyncContext;
+		this.out = asyncContext.getResponse().getOutputStream();
+		this.feed = feed;
+	}
+
+	public static void open(AsyncContext asyncContext, GreetingFeed feed, Long lastEventId) throws IOException {
+		ServletFeedSink sink = new ServletFeedSink(asyncContext, feed);
+		sink.subscription = feed.subscribe(sink, lastEventId);
+		asyncContext.addListener(sink);
+		sink.out.setWriteListener(sink);
+	}
+
+	@Override
+	public boolean isReady() {
+		return out.isReady();
+	}
+
+	@Override
+	public void write(byte[] frame) throws IOException {
+		out.write(frame);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() {
+		try {
+			asyncContext.complete();
+		} catch (IllegalStateException e) {
+			// already completed by the container
+		}
+	}
+
+	@Override
+	public void onWritePossible() {
+		feed.drain(subscription);
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		feed.unsubscribe(subscription);
+	}
+
+	@Override
+	public void onComplete(AsyncEvent event) {
+		feed.unsubscribe(subscription);
+	}
+
+	@Override
+	public void onTimeout(AsyncEvent event) {
+		feed.unsubscribe(subscription);
+		close();
+	}
+
+	@Override
+	public void onError(AsyncEvent event) {
+		feed.unsubscribe(subscription);
+	}
+
+	@Override
+	public void onStartAsync(AsyncEvent event) {
+	}
+}
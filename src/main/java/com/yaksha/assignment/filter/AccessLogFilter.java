@@ -0,0 +1,128 @@
+package com.yaksha.assignment.filter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.yaksha.assignment.drain.DrainListener;
+import com.yaksha.assignment.logging.AccessLogContext;
+import com.yaksha.assignment.logging.AccessLogRing;
+import com.yaksha.assignment.logging.AccessLogWriter;
+import com.yaksha.assignment.logging.CountingResponseWrapper;
+import com.yaksha.assignment.metrics.MetricsSource;
+
+/**
+ * Access log for every request to the dispatcher. The request thread only
+ * copies references and counters into a preallocated ring slot; formatting
+ * and file I/O happen on the {@link AccessLogWriter} thread. Off unless
+ * access-log.enabled=true; access-log.file must be an absolute path.
+ */
+@Component
+public class AccessLogFilter extends OncePerRequestFilter implements MetricsSource, DrainListener {
+
+	private static final long FLUSH_TIMEOUT_MILLIS = 2000;
+
+	@Value("${access-log.enabled:false}")
+	private boolean enabled;
+
+	@Value("${access-log.file:${java.io.tmpdir}/yaksha/access.log}")
+	private String file;
+
+	@Value("${access-log.ring-size:8192}")
+	private int ringSize;
+
+	@Value("${access-log.max-file-bytes:10485760}")
+	private long maxFileBytes;
+
+	@Value("${access-log.max-history:5}")
+	private int maxHistory;
+
+	private AccessLogRing ring;
+	private AccessLogWriter writer;
+
+	@Override
+	protected void initFilterBean() throws ServletException {
+		if (!enabled) {
+			return;
+		}
+		Path path = Paths.get(file);
+		if (!path.isAbsolute()) {
+			throw new ServletException("access-log.file must be an absolute path: " + file);
+		}
+		ring = new AccessLogRing(ringSize);
+		try {
+			writer = new AccessLogWriter(ring, path, maxFileBytes, maxHistory);
+		} catch (IOException e) {
+			throw new ServletException("Unable to open access log " + file, e);
+		}
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return writer == null;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		long start = System.nanoTime();
+		AccessLogContext context = AccessLogContext.begin();
+		CountingResponseWrapper counting = context.getResponse();
+		if (counting == null) {
+			counting = new CountingResponseWrapper(response);
+			context.setResponse(counting);
+		}
+		counting.reset(response);
+
+		try {
+			chain.doFilter(request, counting);
+		} finally {
+			long latency = System.nanoTime() - start;
+			ring.publish(System.currentTimeMillis(), request.getMethod(), request.getRequestURI(),
+					context.getHandler(), context.getView(), response.getStatus(), counting.getBytes(), latency);
+			if (request.isAsyncStarted()) {
+				context.detachResponse();
+			}
+			context.end();
+		}
+	}
+
+	// Requests finished during the drain are on disk before the context goes away
+	@Override
+	public void onDrained() {
+		if (writer != null && !writer.flush(FLUSH_TIMEOUT_MILLIS)) {
+			logger.warn("Access log not flushed within " + FLUSH_TIMEOUT_MILLIS + " ms");
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (writer != null) {
+			writer.close();
+		}
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "accessLog";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("logged", ring == null ? 0 : ring.getPublished());
+		metrics.put("dropped", ring == null ? 0 : ring.getDropped());
+		return metrics;
+	}
+}
@@ -0,0 +1,86 @@
+package com.yaksha.assignment.filter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.yaksha.assignment.drain.DrainCoordinator;
+
+/**
+ * Counts dispatcher requests in and out for the {@link DrainCoordinator} and
+ * turns new ones away with a 503 once draining has started, so clients and
+ * the load balancer retry on another node. Health, metrics and the drain
+ * endpoint itself are left alone.
+ */
+@Component
+public class DrainFilter extends OncePerRequestFilter {
+
+	private static final byte[] DRAINING = "Draining, retry on another instance".getBytes(StandardCharsets.UTF_8);
+
+	@Autowired
+	private DrainCoordinator drainCoordinator;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getServletPath();
+		return "/ready".equals(path) || "/metrics".equals(path) || "/drain".equals(path);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		if (!drainCoordinator.tryEnter()) {
+			response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			response.setHeader("Connection", "close");
+			response.setHeader("Retry-After", "1");
+			response.setContentType("text/plain;charset=UTF-8");
+			response.setContentLength(DRAINING.length);
+			response.getOutputStream().write(DRAINING);
+			return;
+		}
+
+		boolean async = false;
+		try {
+			chain.doFilter(request, response);
+			if (request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new ExitOnComplete());
+				async = true;
+			}
+		} finally {
+			if (!async) {
+				drainCoordinator.exit();
+			}
+		}
+	}
+
+	// Async requests are in flight until their async cycle ends
+	private class ExitOnComplete implements AsyncListener {
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			drainCoordinator.exit();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.yaksha.assignment.filter;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.yaksha.assignment.warmup.FirstMinuteLatency;
+
+/**
+ * Times every dispatcher request for {@link FirstMinuteLatency}, whether or
+ * not the access log is on. Readiness probes, metrics scrapes and the drain
+ * endpoint are not traffic, and long-lived async requests such as the
+ * greeting stream have no meaningful latency, so neither is recorded.
+ */
+@Component
+public class FirstMinuteLatencyFilter extends OncePerRequestFilter {
+
+	@Autowired
+	private FirstMinuteLatency firstMinuteLatency;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getServletPath();
+		return "/ready".equals(path) || "/metrics".equals(path) || "/drain".equals(path);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		long start = System.nanoTime();
+		chain.doFilter(request, response);
+		if (!request.isAsyncStarted()) {
+			firstMinuteLatency.record(System.nanoTime() - start);
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.yaksha.assignment.filter;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.yaksha.assignment.cache.SharedGreetingCache;
+import com.yaksha.assignment.codec.GreetingEncoder;
+import com.yaksha.assignment.event.GreetingEvents;
+import com.yaksha.assignment.template.GreetingTemplateRegistry;
+
+/**
+ * Serves rendered /greet pages from the host-wide {@link SharedGreetingCache}
+ * and stores freshly rendered ones into it. Pages are keyed by name, age,
+ * tenant template version and Accept-Language. A page served from the cache
+ * is still passed on to the greeting listeners. Disabled unless
+ * greeting.cache.enabled=true.
+ */
+@Component
+public class GreetingCacheFilter extends OncePerRequestFilter {
+
+	private static final String CONTENT_TYPE = "text/html;charset=UTF-8";
+
+	@Value("${greeting.cache.enabled:false}")
+	private boolean enabled;
+
+	@Value("${greeting.cache.file:/dev/shm/yaksha-greeting-cache}")
+	private String file;
+
+	@Value("${greeting.cache.slots:4096}")
+	private int slots;
+
+	@Value("${greeting.cache.slot-size:1024}")
+	private int slotSize;
+
+	@Autowired
+	private GreetingTemplateRegistry greetingTemplates;
+
+	@Autowired
+	private GreetingEvents greetingEvents;
+
+	private SharedGreetingCache cache;
+
+	@Override
+	protected void initFilterBean() throws ServletException {
+		if (!enabled) {
+			return;
+		}
+		try {
+			cache = new SharedGreetingCache(Paths.get(file), slots, slotSize);
+		} catch (IOException e) {
+			throw new ServletException("Unable to map greeting cache " + file, e);
+		}
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return cache == null || !"GET".equals(request.getMethod())
+				|| !"/greet".equals(request.getServletPath() + nullToEmpty(request.getPathInfo()))
+				|| acceptsApiFormat(request);
+	}
+
+	// JSON and CBOR clients get their own representation, only HTML is cached
+	private static boolean acceptsApiFormat(HttpServletRequest request) {
+		String accept = request.getHeader("Accept");
+		return accept != null && (accept.contains(MediaType.APPLICATION_JSON_VALUE)
+				|| accept.contains(GreetingEncoder.APPLICATION_CBOR_VALUE));
+	}
+
+	// Only well-formed requests are cached; anything else takes the normal path
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String name = request.getParameter("name");
+		int age;
+		try {
+			age = Integer.parseInt(request.getParameter("age"));
+		} catch (NumberFormatException e) {
+			name = null;
+			age = 0;
+		}
+		if (name == null) {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		byte[] key = SharedGreetingCache.key(name, age, greetingTemplates.variantOf(request) + '\u0000'
+				+ nullToEmpty(request.getHeader("Accept-Language")));
+		byte[] page = cache.get(key);
+		if (page != null) {
+			response.setContentType(CONTENT_TYPE);
+			response.setContentLength(page.length);
+			response.getOutputStream().write(page);
+			greetingEvents.greeted(request, name, age);
+			return;
+		}
+
+		ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+		chain.doFilter(request, wrapper);
+		if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+			cache.put(key, wrapper.getContentAsByteArray());
+		}
+		wrapper.copyBodyToResponse();
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+
+	@Override
+	public void destroy() {
+		if (cache != null) {
+			try {
+				cache.close();
+			} catch (IOException e) {
+				logger.warn("Failed to close greeting cache", e);
+			}
+		}
+	}
+}
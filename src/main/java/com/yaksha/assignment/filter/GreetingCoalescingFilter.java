@@ -0,0 +1,220 @@
+package com.yaksha.assignment.filter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.yaksha.assignment.cache.SingleFlight;
+import com.yaksha.assignment.event.GreetingEvents;
+import com.yaksha.assignment.metrics.MetricsSource;
+import com.yaksha.assignment.template.GreetingTemplateRegistry;
+
+/**
+ * Renders identical concurrent /greet requests once: the first request for a
+ * (name, age, tenant template, Accept, Accept-Language) key goes through the controller and
+ * view, the others wait up to greeting.coalesce.wait-ms for its response and
+ * replay it: the body together with the headers, cookies and locale set
+ * further down the chain. Headers set by filters in front of this one are set
+ * by them again on each request, so they are not replayed. Replayed
+ * greetings are passed on to the greeting listeners like the one that was
+ * rendered.
+ */
+@Component
+public class GreetingCoalescingFilter extends OncePerRequestFilter implements MetricsSource {
+
+	@Value("${greeting.coalesce.enabled:true}")
+	private boolean enabled;
+
+	@Value("${greeting.coalesce.wait-ms:100}")
+	private long waitMillis;
+
+	@Autowired
+	private GreetingEvents greetingEvents;
+
+	@Autowired
+	private GreetingTemplateRegistry greetingTemplates;
+
+	private final SingleFlight<String, RenderedPage> renders = new SingleFlight<>();
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !enabled || !"GET".equals(request.getMethod())
+				|| !"/greet".equals(request.getServletPath() + nullToEmpty(request.getPathInfo()));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String name = request.getParameter("name");
+		String age = request.getParameter("age");
+		if (name == null || age == null) {
+			chain.doFilter(request, response);
+			return;
+		}
+		String key = name + '\u0000' + age + '\u0000' + greetingTemplates.variantOf(request) + '\u0000'
+				+ nullToEmpty(request.getHeader("Accept")) + '\u0000'
+				+ nullToEmpty(request.getHeader("Accept-Language"));
+
+		RenderedPage[] own = new RenderedPage[1];
+		RenderedPage page;
+		try {
+			page = renders.execute(key, () -> own[0] = render(request, response, chain), waitMillis,
+					TimeUnit.MILLISECONDS);
+		} catch (IOException | ServletException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new ServletException(e);
+		}
+
+		// Our own render has already been written by render()
+		if (page != null && page != own[0]) {
+			page.writeTo(response);
+			greetingEvents.greeted(request, name, Integer.parseInt(age));
+		}
+	}
+
+	// Runs the chain for this request and returns the page if it can be shared
+	private RenderedPage render(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws IOException, ServletException {
+		RecordingResponseWrapper wrapper = new RecordingResponseWrapper(response);
+		chain.doFilter(request, wrapper);
+		RenderedPage page = wrapper.getStatus() == HttpServletResponse.SC_OK
+				? new RenderedPage(wrapper.getContentType(), wrapper.headers, wrapper.getContentAsByteArray())
+				: null;
+		wrapper.copyBodyToResponse();
+		return page;
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "greetingCoalescing";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("renders", renders.getExecutions());
+		metrics.put("collapsed", renders.getCollapsed());
+		metrics.put("timeouts", renders.getTimeouts());
+		metrics.put("inFlight", renders.getInFlight());
+		return metrics;
+	}
+
+	// Records what the chain sets on the response, in order, so it can be set again on another one
+	private static class RecordingResponseWrapper extends ContentCachingResponseWrapper {
+
+		private final List<Consumer<HttpServletResponse>> headers = new ArrayList<>();
+
+		RecordingResponseWrapper(HttpServletResponse response) {
+			super(response);
+		}
+
+		// The content type and length are replayed from the page itself
+		private static boolean isReplayed(String name) {
+			return !"Content-Type".equalsIgnoreCase(name) && !"Content-Length".equalsIgnoreCase(name);
+		}
+
+		@Override
+		public void setHeader(String name, String value) {
+			super.setHeader(name, value);
+			if (isReplayed(name)) {
+				headers.add(response -> response.setHeader(name, value));
+			}
+		}
+
+		@Override
+		public void addHeader(String name, String value) {
+			super.addHeader(name, value);
+			if (isReplayed(name)) {
+				headers.add(response -> response.addHeader(name, value));
+			}
+		}
+
+		@Override
+		public void setDateHeader(String name, long date) {
+			super.setDateHeader(name, date);
+			headers.add(response -> response.setDateHeader(name, date));
+		}
+
+		@Override
+		public void addDateHeader(String name, long date) {
+			super.addDateHeader(name, date);
+			headers.add(response -> response.addDateHeader(name, date));
+		}
+
+		@Override
+		public void setIntHeader(String name, int value) {
+			super.setIntHeader(name, value);
+			if (isReplayed(name)) {
+				headers.add(response -> response.setIntHeader(name, value));
+			}
+		}
+
+		@Override
+		public void addIntHeader(String name, int value) {
+			super.addIntHeader(name, value);
+			if (isReplayed(name)) {
+				headers.add(response -> response.addIntHeader(name, value));
+			}
+		}
+
+		@Override
+		public void addCookie(Cookie cookie) {
+			super.addCookie(cookie);
+			Cookie copy = (Cookie) cookie.clone();
+			headers.add(response -> response.addCookie(copy));
+		}
+
+		// Sets Content-Language
+		@Override
+		public void setLocale(Locale locale) {
+			super.setLocale(locale);
+			headers.add(response -> response.setLocale(locale));
+		}
+	}
+
+	private static class RenderedPage {
+
+		private final String contentType;
+		private final List<Consumer<HttpServletResponse>> headers;
+		private final byte[] body;
+
+		RenderedPage(String contentType, List<Consumer<HttpServletResponse>> headers, byte[] body) {
+			this.contentType = contentType;
+			this.headers = headers;
+			this.body = body;
+		}
+
+		void writeTo(HttpServletResponse response) throws IOException {
+			for (Consumer<HttpServletResponse> header : headers) {
+				header.accept(response);
+			}
+			if (contentType != null) {
+				response.setContentType(contentType);
+			}
+			response.setContentLength(body.length);
+			response.getOutputStream().write(body);
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.yaksha.assignment.filter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.yaksha.assignment.metrics.MetricsSource;
+import com.yaksha.assignment.validation.GreetingValidator;
+
+/**
+ * Rejects /greet requests whose name or age break the {@link GreetingValidator}
+ * rules with a short plain-text 400, before the cache, the controller or the
+ * view see them.
+ */
+@Component
+public class GreetingValidationFilter extends OncePerRequestFilter implements MetricsSource {
+
+	@Value("${greeting.validation.enabled:true}")
+	private boolean enabled;
+
+	@Autowired
+	private GreetingValidator validator;
+
+	private final LongAdder accepted = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !enabled || !"/greet".equals(request.getServletPath() + nullToEmpty(request.getPathInfo()));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String reason = validator.validate(request.getParameter("name"), request.getParameter("age"));
+		if (reason == null) {
+			accepted.increment();
+			chain.doFilter(request, response);
+			return;
+		}
+		rejected.increment();
+		byte[] body = reason.getBytes(StandardCharsets.UTF_8);
+		response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+		response.setContentType("text/plain;charset=UTF-8");
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "greetingValidation";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("accepted", accepted.sum());
+		metrics.put("rejected", rejected.sum());
+		return metrics;
+	}
+}
@@ -0,0 +1,175 @@
+package com.yaksha.assignment.filter;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.yaksha.assignment.metrics.MetricsSource;
+import com.yaksha.assignment.validation.GreetingValidator;
+
+/**
+ * Resource hints for the form-to-greeting flow.
+ *
+ * The form page gets a Link header for every entry of hints.preload. With
+ * hints.remember-last-greeting=true, /greet also keeps the visitor's name and
+ * age in a cookie, and the form page of a returning visitor gets a
+ * rel=prefetch hint for that greeting. The browser fetches it while the user
+ * is on the form, so submitting the same details again is served from its
+ * prefetch cache. The cookie keeps personal data on the client for
+ * hints.cookie-max-age-days, so it is off unless asked for. A prefetched
+ * greeting is recorded like any other, as the submission that uses it never
+ * reaches the server.
+ *
+ * Servlet 3.1 has no way to send a 103 Early Hints response, so the hints
+ * go on the final response, where CDNs that support early hints pick them up.
+ */
+@Component
+public class ResourceHintsFilter extends OncePerRequestFilter implements MetricsSource {
+
+	public static final String LAST_GREETING_COOKIE = "lastGreeting";
+
+	@Value("${hints.enabled:true}")
+	private boolean enabled;
+
+	@Value("${hints.preload:}")
+	private String[] preload;
+
+	@Value("${hints.remember-last-greeting:false}")
+	private boolean rememberLastGreeting;
+
+	@Value("${hints.cookie-max-age-days:30}")
+	private int cookieMaxAgeDays;
+
+	@Autowired
+	private GreetingValidator validator;
+
+	private final LongAdder formHints = new LongAdder();
+	private final LongAdder prefetchHints = new LongAdder();
+	private final LongAdder prefetches = new LongAdder();
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !enabled;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String path = request.getServletPath() + nullToEmpty(request.getPathInfo());
+		if ("/greet".equals(path)) {
+			greet(request, response, chain);
+			return;
+		}
+		addFormHints(request, response);
+		chain.doFilter(request, response);
+	}
+
+	private void addFormHints(HttpServletRequest request, HttpServletResponse response)
+			throws UnsupportedEncodingException {
+		for (String link : preload) {
+			if (StringUtils.hasText(link)) {
+				response.addHeader("Link", link.trim());
+			}
+		}
+		formHints.increment();
+
+		String lastGreeting = rememberLastGreeting ? lastGreeting(request) : null;
+		if (lastGreeting != null) {
+			response.addHeader("Link", "<" + request.getContextPath() + lastGreeting + ">; rel=prefetch; as=document");
+			prefetchHints.increment();
+		}
+	}
+
+	// Remembers valid submissions if enabled and counts prefetches
+	private void greet(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String name = request.getParameter("name");
+		String age = request.getParameter("age");
+		if (rememberLastGreeting && validator.validate(name, age) == null) {
+			String value = URLEncoder.encode(name, "UTF-8") + '|' + Integer.parseInt(age);
+			Cookie cookie = new Cookie(LAST_GREETING_COOKIE, value);
+			cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+			cookie.setMaxAge((int) TimeUnit.DAYS.toSeconds(cookieMaxAgeDays));
+			cookie.setHttpOnly(true);
+			response.addCookie(cookie);
+		}
+
+		if (isPrefetch(request)) {
+			prefetches.increment();
+		}
+		chain.doFilter(request, response);
+	}
+
+	private static boolean isPrefetch(HttpServletRequest request) {
+		String purpose = request.getHeader("Sec-Purpose");
+		if (purpose == null) {
+			purpose = request.getHeader("Purpose");
+		}
+		return purpose != null && purpose.startsWith("prefetch");
+	}
+
+	// The /greet path and query of the visitor's last greeting, or null
+	private String lastGreeting(HttpServletRequest request) throws UnsupportedEncodingException {
+		Cookie[] cookies = request.getCookies();
+		if (cookies == null) {
+			return null;
+		}
+		for (Cookie cookie : cookies) {
+			if (LAST_GREETING_COOKIE.equals(cookie.getName())) {
+				String value = cookie.getValue();
+				int separator = value.lastIndexOf('|');
+				if (separator < 0) {
+					return null;
+				}
+				String name;
+				try {
+					name = URLDecoder.decode(value.substring(0, separator), "UTF-8");
+				} catch (IllegalArgumentException e) {
+					return null;
+				}
+				String age = value.substring(separator + 1);
+				// The cookie is client-controlled, so only hint at greetings that would be accepted
+				if (validator.validate(name, age) != null) {
+					return null;
+				}
+				return "/greet?name=" + URLEncoder.encode(name, "UTF-8") + "&age=" + age;
+			}
+		}
+		return null;
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "resourceHints";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("formResponses", formHints.sum());
+		metrics.put("prefetchHints", prefetchHints.sum());
+		metrics.put("prefetchesServed", prefetches.sum());
+		return metrics;
+	}
+}
@@ -0,0 +1,137 @@
+package com.yaksha.assignment.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.yaksha.assignment.compression.BufferingResponseWrapper;
+import com.yaksha.assignment.compression.DeflaterPool;
+import com.yaksha.assignment.compression.TemplateGzipEncoder;
+import com.yaksha.assignment.metrics.MetricsSource;
+import com.yaksha.assignment.template.GreetingTemplateRegistry;
+
+/**
+ * Gzips HTML, text and JSON responses for clients that accept it. Bodies
+ * under compression.min-bytes are sent as they are, since for the small
+ * greeting pages the gzip framing costs more CPU than the bytes it saves.
+ * Larger bodies go through a {@link TemplateGzipEncoder} keyed by path,
+ * tenant template, content type and locale, so the fixed part of each view is
+ * compressed once rather than per response. Only tenants the template
+ * registry knows get keys of their own, so a made-up X-Tenant header cannot
+ * add keys.
+ */
+@Component
+public class ResponseCompressionFilter extends OncePerRequestFilter implements MetricsSource {
+
+	@Value("${compression.enabled:true}")
+	private boolean enabled;
+
+	@Value("${compression.min-bytes:256}")
+	private int minBytes;
+
+	@Value("${compression.level:6}")
+	private int level;
+
+	@Value("${compression.pool-size:64}")
+	private int poolSize;
+
+	@Value("${compression.max-templates:256}")
+	private int maxTemplates;
+
+	@Autowired
+	private GreetingTemplateRegistry greetingTemplates;
+
+	private DeflaterPool pool;
+	private TemplateGzipEncoder encoder;
+
+	private final LongAdder compressed = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+	private final LongAdder bytesIn = new LongAdder();
+	private final LongAdder bytesOut = new LongAdder();
+
+	@Override
+	protected void initFilterBean() {
+		pool = new DeflaterPool(level, poolSize);
+		encoder = new TemplateGzipEncoder(pool, maxTemplates);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String acceptEncoding = request.getHeader("Accept-Encoding");
+		String accept = request.getHeader("Accept");
+		return !enabled || acceptEncoding == null || !acceptEncoding.contains("gzip")
+				|| (accept != null && accept.contains("text/event-stream"));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		BufferingResponseWrapper wrapper = new BufferingResponseWrapper(response);
+		chain.doFilter(request, wrapper);
+		if (!wrapper.isBuffering()) {
+			return;
+		}
+
+		byte[] body = wrapper.getBuffer();
+		int length = wrapper.getBufferLength();
+		if (length < minBytes || response.isCommitted() || response.containsHeader("Content-Encoding")) {
+			skipped.increment();
+			if (!response.isCommitted()) {
+				response.setContentLength(length);
+			}
+			response.getOutputStream().write(body, 0, length);
+			return;
+		}
+
+		ByteArrayOutputStream gzip = new ByteArrayOutputStream(length / 2 + 64);
+		String template = response.getStatus() == HttpServletResponse.SC_OK
+				? request.getRequestURI() + ' ' + greetingTemplates.variantOf(request) + ' ' + response.getContentType()
+						+ ' ' + response.getLocale()
+				: null;
+		encoder.encode(template, body, length, gzip);
+		compressed.increment();
+		bytesIn.add(length);
+		bytesOut.add(gzip.size());
+
+		response.setHeader("Content-Encoding", "gzip");
+		response.setContentLength(gzip.size());
+		gzip.writeTo(response.getOutputStream());
+	}
+
+	@Override
+	public void destroy() {
+		if (pool != null) {
+			pool.close();
+		}
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "compression";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("compressed", compressed.sum());
+		metrics.put("uncompressed", skipped.sum());
+		metrics.put("bytesIn", bytesIn.sum());
+		metrics.put("bytesOut", bytesOut.sum());
+		metrics.put("templates", encoder == null ? 0 : encoder.getTemplateCount());
+		metrics.put("templatedResponses", encoder == null ? 0 : encoder.getTemplated());
+		metrics.put("idleDeflaters", pool == null ? 0 : pool.getIdle());
+		return metrics;
+	}
+}
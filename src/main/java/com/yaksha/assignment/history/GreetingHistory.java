@@ -0,0 +1,238 @@
+package com.yaksha.assignment.history;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.yaksha.assignment.drain.DrainListener;
+import com.yaksha.assignment.event.GreetingListener;
+import com.yaksha.assignment.metrics.MetricsSource;
+
+/**
+ * Keeps every greeting in a {@link SegmentLog} without touching disk on the
+ * request thread.
+ *
+ * Requests only offer a record to a bounded queue (dropping and counting it
+ * when the queue is full). A single writer thread takes whatever has queued
+ * up as one batch, appends it, and fsyncs at most once per
+ * history.fsync-interval-ms, so many requests share one commit. The same
+ * thread periodically compacts away records older than the retention.
+ *
+ * Records hold visitors' names, so the history is off unless
+ * history.enabled=true. history.dir must then be an absolute path, and
+ * records are kept for history.retention-days.
+ */
+@Component
+public class GreetingHistory
+		implements GreetingListener, MetricsSource, DrainListener, InitializingBean, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(GreetingHistory.class);
+
+	private static final long FLUSH_TIMEOUT_MILLIS = 2000;
+
+	private static final long CLOSE_TIMEOUT_MILLIS = 10000;
+
+	@Value("${history.enabled:false}")
+	private boolean enabled;
+
+	@Value("${history.dir:${java.io.tmpdir}/yaksha/history}")
+	private String dir;
+
+	@Value("${history.segment-bytes:67108864}")
+	private int segmentBytes;
+
+	@Value("${history.queue-capacity:65536}")
+	private int queueCapacity;
+
+	@Value("${history.batch-size:4096}")
+	private int batchSize;
+
+	@Value("${history.fsync-interval-ms:50}")
+	private long fsyncIntervalMillis;
+
+	@Value("${history.retention-days:30}")
+	private int retentionDays;
+
+	@Value("${history.compact-interval-minutes:10}")
+	private long compactIntervalMinutes;
+
+	private BlockingQueue<GreetingRecord> queue;
+	private SegmentLog log;
+	private Thread writer;
+	private volatile boolean running;
+
+	private final LongAdder dropped = new LongAdder();
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+	private final AtomicLong syncs = new AtomicLong();
+	private final AtomicLong compacted = new AtomicLong();
+	private final AtomicLong busyNanos = new AtomicLong();
+	private final AtomicLong syncRequests = new AtomicLong();
+	private volatile long synced;
+
+	@Override
+	public void afterPropertiesSet() throws IOException {
+		if (!enabled) {
+			return;
+		}
+		Path path = Paths.get(dir);
+		if (!path.isAbsolute()) {
+			throw new IllegalStateException("history.dir must be an absolute path: " + dir);
+		}
+		queue = new ArrayBlockingQueue<>(queueCapacity);
+		log = new SegmentLog(path, segmentBytes);
+		running = true;
+		writer = new Thread(this::writeLoop, "greeting-history-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	@Override
+	public void onGreeting(String name, int age, String message) {
+		if (queue != null && !queue.offer(new GreetingRecord(name, age, System.currentTimeMillis()))) {
+			dropped.increment();
+		}
+	}
+
+	private void writeLoop() {
+		List<GreetingRecord> batch = new ArrayList<>(batchSize);
+		long fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+		long compactIntervalNanos = TimeUnit.MINUTES.toNanos(compactIntervalMinutes);
+		long lastSync = System.nanoTime();
+		long lastCompact = lastSync;
+		boolean dirty = false;
+
+		while (running || !queue.isEmpty()) {
+			try {
+				long requested = syncRequests.get();
+				GreetingRecord first = queue.poll(fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+				long start = System.nanoTime();
+				if (first != null) {
+					batch.add(first);
+					queue.drainTo(batch, batchSize - 1);
+					for (GreetingRecord record : batch) {
+						log.append(record.getName(), record.getAge(), record.getTimestamp());
+					}
+					log.publish();
+					written.addAndGet(batch.size());
+					batches.incrementAndGet();
+					batch.clear();
+					dirty = true;
+				}
+				long now = System.nanoTime();
+				boolean syncRequested = requested > synced && queue.isEmpty();
+				if (dirty && (syncRequested || now - lastSync >= fsyncIntervalNanos)) {
+					log.sync();
+					syncs.incrementAndGet();
+					lastSync = now;
+					dirty = false;
+				}
+				if (syncRequested) {
+					synced = requested;
+				}
+				if (now - lastCompact >= compactIntervalNanos) {
+					long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays);
+					compacted.addAndGet(log.compact(cutoff));
+					lastCompact = now;
+				}
+				busyNanos.addAndGet(System.nanoTime() - start);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (IOException | RuntimeException e) {
+				logger.error("Greeting history write failed", e);
+				batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * Most recent records, oldest first.
+	 */
+	public List<GreetingRecord> recent(int limit) throws IOException {
+		if (log == null || limit <= 0) {
+			return Collections.emptyList();
+		}
+		return log.tail(limit);
+	}
+
+	/**
+	 * Visits all records at or after the given time, oldest first.
+	 */
+	public void scan(long fromMillis, SegmentLog.RecordVisitor visitor) throws IOException {
+		if (log != null) {
+			log.scan(record -> record.getTimestamp() < fromMillis || visitor.visit(record));
+		}
+	}
+
+	// Everything recorded before the drain finished is on disk before the context goes away
+	@Override
+	public void onDrained() {
+		if (writer == null) {
+			return;
+		}
+		long target = syncRequests.incrementAndGet();
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MILLIS);
+		while (synced < target && writer.isAlive()) {
+			if (System.nanoTime() - deadline > 0) {
+				logger.warn("Greeting history not synced within " + FLUSH_TIMEOUT_MILLIS + " ms");
+				return;
+			}
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (writer == null) {
+			return;
+		}
+		running = false;
+		writer.join(CLOSE_TIMEOUT_MILLIS);
+		// Closing under a writer that is still appending would fault on the unmapped segment
+		if (writer.isAlive()) {
+			logger.warn("Greeting history writer did not stop within " + CLOSE_TIMEOUT_MILLIS
+					+ " ms; leaving the log open");
+			return;
+		}
+		log.close();
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "greetingHistory";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		long busy = busyNanos.get();
+		metrics.put("written", written.get());
+		metrics.put("dropped", dropped.sum());
+		metrics.put("queued", queue == null ? 0 : queue.size());
+		metrics.put("batches", batches.get());
+		metrics.put("fsyncs", syncs.get());
+		metrics.put("compacted", compacted.get());
+		metrics.put("segments", log == null ? 0 : log.getSegmentCount());
+		metrics.put("recordsPerSecond", busy == 0 ? 0 : written.get() * TimeUnit.SECONDS.toNanos(1) / busy);
+		return metrics;
+	}
+}
@@ -0,0 +1,27 @@
+package com.yaksha.assignment.history;
+
+public class GreetingRecord {
+
+	private final String name;
+	private final int age;
+	private final long timestamp;
+
+	public GreetingRecord(String name, int age, long timestamp) {
+		this.name = name;
+		this.age = age;
+		this.timestamp = timestamp;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getAge() {
+		return age;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+}
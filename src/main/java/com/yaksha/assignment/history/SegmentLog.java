@@ -0,0 +1,364 @@
+package com.yaksha.assignment.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of greeting records, split into memory-mapped segment files
+ * named by their sequence number.
+ *
+ * Record format:
+ *
+ * <pre>
+ * int    length     bytes following the 8 byte header
+ * int    crc        CRC32 of those bytes
+ * long   timestamp  epoch millis
+ * int    age
+ * byte[] name       UTF-8, the rest of the record
+ * </pre>
+ *
+ * A zero length or a bad CRC marks the end of a segment, which is also how a
+ * torn write is dropped on recovery. Only a single thread may append, sync or
+ * compact; any thread may scan and sees every record up to the last
+ * {@link #publish()}.
+ */
+public class SegmentLog implements Closeable {
+
+	private static final int HEADER = 8;
+	private static final int FIXED = 12;
+	private static final String SUFFIX = ".log";
+
+	public interface RecordVisitor {
+
+		// Return false to stop the scan
+		boolean visit(GreetingRecord record);
+
+	}
+
+	private static final class Segment {
+
+		private final Path path;
+		private final long sequence;
+		private volatile int end;
+		private volatile ByteBuffer activeView;
+
+		Segment(Path path, long sequence, int end) {
+			this.path = path;
+			this.sequence = sequence;
+			this.end = end;
+		}
+	}
+
+	private final Path dir;
+	private final int segmentBytes;
+	private final List<Segment> segments = new CopyOnWriteArrayList<>();
+	private final CRC32 crc = new CRC32();
+
+	private Segment active;
+	private FileChannel activeChannel;
+	private MappedByteBuffer activeMap;
+	private int position;
+
+	public SegmentLog(Path dir, int segmentBytes) throws IOException {
+		this.dir = dir;
+		this.segmentBytes = segmentBytes;
+		Files.createDirectories(dir);
+
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+			for (Path file : stream) {
+				files.add(file);
+			}
+		}
+		Collections.sort(files);
+		for (Path file : files) {
+			segments.add(new Segment(file, sequenceOf(file), recoverEnd(file)));
+		}
+
+		if (segments.isEmpty()) {
+			segments.add(new Segment(segmentPath(1), 1, 0));
+		}
+		openActive(segments.get(segments.size() - 1));
+	}
+
+	private Path segmentPath(long sequence) {
+		return dir.resolve(String.format("%020d%s", sequence, SUFFIX));
+	}
+
+	private static long sequenceOf(Path file) {
+		String name = file.getFileName().toString();
+		return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+	}
+
+	private void openActive(Segment segment) throws IOException {
+		activeChannel = FileChannel.open(segment.path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		long size = Math.max(segmentBytes, activeChannel.size());
+		activeMap = activeChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+		position = segment.end;
+		active = segment;
+		segment.activeView = activeMap.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Appends one record; it becomes visible to scans after {@link #publish()}
+	 * and durable after {@link #sync()}.
+	 */
+	public void append(String name, int age, long timestamp) throws IOException {
+		byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		int length = FIXED + nameBytes.length;
+		if (HEADER + length > segmentBytes) {
+			throw new IllegalArgumentException("Record of " + length + " bytes does not fit in a segment");
+		}
+		if (position + HEADER + length > activeMap.capacity()) {
+			roll();
+		}
+
+		int body = position + HEADER;
+		activeMap.putLong(body, timestamp);
+		activeMap.putInt(body + 8, age);
+		ByteBuffer view = activeMap.duplicate();
+		view.position(body + FIXED);
+		view.put(nameBytes);
+
+		view.position(body);
+		view.limit(body + length);
+		crc.reset();
+		crc.update(view);
+		activeMap.putInt(position + 4, (int) crc.getValue());
+		activeMap.putInt(position, length);
+		position += HEADER + length;
+	}
+
+	public void publish() {
+		active.end = position;
+	}
+
+	public void sync() {
+		activeMap.force();
+	}
+
+	// Seals the active segment at its written size and starts the next one
+	private void roll() throws IOException {
+		publish();
+		sync();
+		Segment sealed = active;
+		sealed.activeView = null;
+		activeChannel.truncate(position);
+		activeChannel.close();
+
+		Segment next = new Segment(segmentPath(sealed.sequence + 1), sealed.sequence + 1, 0);
+		segments.add(next);
+		openActive(next);
+	}
+
+	/**
+	 * Visits published records from the oldest segment to the newest.
+	 */
+	public void scan(RecordVisitor visitor) throws IOException {
+		for (Segment segment : segments) {
+			int end = segment.end;
+			ByteBuffer view;
+			try {
+				view = view(segment);
+			} catch (NoSuchFileException e) {
+				continue; // removed by compaction meanwhile
+			}
+			if (!scan(view, end, visitor)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * The most recent published records, oldest first. Reads segments from
+	 * the newest back and stops as soon as it has enough, so the cost follows
+	 * the limit rather than the size of the log.
+	 */
+	public List<GreetingRecord> tail(int limit) throws IOException {
+		Deque<GreetingRecord> tail = new ArrayDeque<>(limit);
+		List<Segment> snapshot = new ArrayList<>(segments);
+		for (int i = snapshot.size() - 1; i >= 0 && tail.size() < limit; i--) {
+			Segment segment = snapshot.get(i);
+			int end = segment.end;
+			ByteBuffer view;
+			try {
+				view = view(segment);
+			} catch (NoSuchFileException e) {
+				continue; // removed by compaction meanwhile
+			}
+			// Records only link forwards, so keep the newest of this segment
+			int wanted = limit - tail.size();
+			Deque<GreetingRecord> newest = new ArrayDeque<>(wanted);
+			scan(view, end, record -> {
+				if (newest.size() == wanted) {
+					newest.removeFirst();
+				}
+				newest.addLast(record);
+				return true;
+			});
+			while (!newest.isEmpty()) {
+				tail.addFirst(newest.removeLast());
+			}
+		}
+		return new ArrayList<>(tail);
+	}
+
+	private static ByteBuffer view(Segment segment) throws IOException {
+		ByteBuffer view = segment.activeView;
+		return view == null ? mapReadOnly(segment.path, segment.end) : view.duplicate();
+	}
+
+	private static ByteBuffer mapReadOnly(Path file, int end) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(end, channel.size()));
+		}
+	}
+
+	private static boolean scan(ByteBuffer buffer, int end, RecordVisitor visitor) {
+		int offset = 0;
+		int limit = Math.min(end, buffer.capacity());
+		while (offset + HEADER + FIXED <= limit) {
+			int length = buffer.getInt(offset);
+			if (length < FIXED || offset + HEADER + length > limit) {
+				break;
+			}
+			int body = offset + HEADER;
+			byte[] name = new byte[length - FIXED];
+			ByteBuffer view = buffer.duplicate();
+			view.position(body + FIXED);
+			view.get(name);
+			GreetingRecord record = new GreetingRecord(new String(name, StandardCharsets.UTF_8),
+					buffer.getInt(body + 8), buffer.getLong(body));
+			if (!visitor.visit(record)) {
+				return false;
+			}
+			offset = body + length;
+		}
+		return true;
+	}
+
+	// Length of the valid prefix of a segment file
+	private static int recoverEnd(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() == 0) {
+				return 0;
+			}
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			CRC32 crc = new CRC32();
+			int offset = 0;
+			while (offset + HEADER + FIXED <= buffer.capacity()) {
+				int length = buffer.getInt(offset);
+				if (length < FIXED || offset + HEADER + length > buffer.capacity()) {
+					break;
+				}
+				ByteBuffer body = buffer.duplicate();
+				body.position(offset + HEADER);
+				body.limit(offset + HEADER + length);
+				crc.reset();
+				crc.update(body);
+				if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+					break;
+				}
+				offset += HEADER + length;
+			}
+			return offset;
+		}
+	}
+
+	/**
+	 * Drops records older than the cutoff from sealed segments: segments with
+	 * nothing left are deleted, partly expired ones are rewritten to a new
+	 * file that atomically replaces the old one.
+	 *
+	 * @return number of records removed
+	 */
+	public long compact(long cutoffMillis) throws IOException {
+		long removed = 0;
+		for (Segment segment : segments) {
+			if (segment.activeView != null) {
+				break; // never touch the active segment
+			}
+			ByteBuffer buffer = mapReadOnly(segment.path, segment.end);
+			int keepFrom = firstOffsetAtOrAfter(buffer, segment.end, cutoffMillis);
+			if (keepFrom == 0) {
+				continue;
+			}
+			removed += countRecords(buffer, keepFrom);
+			if (keepFrom >= segment.end) {
+				segments.remove(segment);
+				Files.deleteIfExists(segment.path);
+			} else {
+				rewrite(segment, buffer, keepFrom);
+			}
+		}
+		return removed;
+	}
+
+	// Records are appended in time order, so everything after this offset is kept
+	private static int firstOffsetAtOrAfter(ByteBuffer buffer, int end, long cutoffMillis) {
+		int offset = 0;
+		while (offset + HEADER + FIXED <= end) {
+			int length = buffer.getInt(offset);
+			if (length < FIXED || buffer.getLong(offset + HEADER) >= cutoffMillis) {
+				break;
+			}
+			offset += HEADER + length;
+		}
+		return offset;
+	}
+
+	private static long countRecords(ByteBuffer buffer, int end) {
+		long count = 0;
+		int offset = 0;
+		while (offset < end) {
+			offset += HEADER + buffer.getInt(offset);
+			count++;
+		}
+		return count;
+	}
+
+	private void rewrite(Segment segment, ByteBuffer buffer, int keepFrom) throws IOException {
+		Path tmp = segment.path.resolveSibling(segment.path.getFileName() + ".compact");
+		ByteBuffer kept = buffer.duplicate();
+		kept.position(keepFrom);
+		kept.limit(segment.end);
+		try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (kept.hasRemaining()) {
+				out.write(kept);
+			}
+			out.force(true);
+		}
+		Files.move(tmp, segment.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		segment.end = segment.end - keepFrom;
+	}
+
+	public int getSegmentCount() {
+		return segments.size();
+	}
+
+	@Override
+	public void close() throws IOException {
+		publish();
+		sync();
+		activeChannel.close();
+	}
+}
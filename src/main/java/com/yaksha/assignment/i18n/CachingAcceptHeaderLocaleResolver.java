@@ -0,0 +1,63 @@
+package com.yaksha.assignment.i18n;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
+
+/**
+ * Resolves the request locale from Accept-Language against the supported
+ * locales, caching the answer per distinct header value. Browsers send a
+ * handful of distinct headers, so almost every request is a single map hit
+ * instead of parsing and matching language ranges. The default locale is
+ * always one of the supported ones, so a header that prefers it over another
+ * supported language gets it.
+ */
+public class CachingAcceptHeaderLocaleResolver extends AcceptHeaderLocaleResolver {
+
+	private static final int MAX_CACHED_HEADERS = 1024;
+
+	private final List<Locale> supported;
+	private final ConcurrentMap<String, Locale> cache = new ConcurrentHashMap<>();
+
+	public CachingAcceptHeaderLocaleResolver(Collection<Locale> supportedLocales, Locale defaultLocale) {
+		this.supported = new ArrayList<>(supportedLocales);
+		// The default bundle has no locale of its own, so it answers for the default locale
+		if (!supported.contains(defaultLocale)) {
+			supported.add(defaultLocale);
+		}
+		setSupportedLocales(this.supported);
+		setDefaultLocale(defaultLocale);
+	}
+
+	@Override
+	public Locale resolveLocale(HttpServletRequest request) {
+		String header = request.getHeader("Accept-Language");
+		if (header == null || header.isEmpty()) {
+			return getDefaultLocale();
+		}
+		Locale locale = cache.get(header);
+		if (locale == null) {
+			locale = match(header);
+			if (cache.size() < MAX_CACHED_HEADERS) {
+				cache.putIfAbsent(header, locale);
+			}
+		}
+		return locale;
+	}
+
+	private Locale match(String header) {
+		try {
+			Locale locale = Locale.lookup(Locale.LanguageRange.parse(header), supported);
+			return locale != null ? locale : getDefaultLocale();
+		} catch (IllegalArgumentException e) {
+			return getDefaultLocale();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.yaksha.assignment.i18n;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable greeting pattern of one locale, parsed once into literal and
+ * placeholder segments per plural category. Formatting only appends
+ * segments; the pattern text is never looked at again.
+ *
+ * Patterns use {name} and {age} placeholders, e.g.
+ * "Hello, {name}. You are {age} years old!".
+ */
+public final class GreetingFormat {
+
+	private static final String NAME = "{name}";
+	private static final String AGE = "{age}";
+
+	// A null segment stands for {name}, an empty one for {age}
+	private static final String AGE_SEGMENT = new String();
+
+	private final Locale locale;
+	private final PluralRule pluralRule;
+	private final String[][] segments = new String[PluralCategory.values().length][];
+	private final int literalLength;
+
+	/**
+	 * @param patterns pattern per plural category; OTHER is required and is
+	 *                 used for any category the locale does not define
+	 */
+	public GreetingFormat(Locale locale, PluralRule pluralRule, Map<PluralCategory, String> patterns) {
+		String other = patterns.get(PluralCategory.OTHER);
+		if (other == null) {
+			throw new IllegalArgumentException("Missing 'other' greeting pattern for locale " + locale);
+		}
+		this.locale = locale;
+		this.pluralRule = pluralRule;
+		String[] otherSegments = compile(other);
+		int longest = 0;
+		for (PluralCategory category : PluralCategory.values()) {
+			String pattern = patterns.get(category);
+			segments[category.ordinal()] = pattern == null ? otherSegments : compile(pattern);
+			longest = Math.max(longest, literalLength(segments[category.ordinal()]));
+		}
+		this.literalLength = longest;
+	}
+
+	private static String[] compile(String pattern) {
+		List<String> compiled = new ArrayList<>();
+		int from = 0;
+		while (from < pattern.length()) {
+			int name = pattern.indexOf(NAME, from);
+			int age = pattern.indexOf(AGE, from);
+			int next = name < 0 ? age : age < 0 ? name : Math.min(name, age);
+			if (next < 0) {
+				compiled.add(pattern.substring(from));
+				break;
+			}
+			if (next > from) {
+				compiled.add(pattern.substring(from, next));
+			}
+			if (next == name) {
+				compiled.add(null);
+				from = next + NAME.length();
+			} else {
+				compiled.add(AGE_SEGMENT);
+				from = next + AGE.length();
+			}
+		}
+		if (compiled.stream().anyMatch(segment -> segment != null && segment != AGE_SEGMENT
+				&& segment.indexOf('{') >= 0)) {
+			throw new IllegalArgumentException("Unknown placeholder in greeting pattern: " + pattern);
+		}
+		return compiled.toArray(new String[0]);
+	}
+
+	private static int literalLength(String[] compiled) {
+		int length = 0;
+		for (String segment : compiled) {
+			if (segment != null) {
+				length += segment.length();
+			}
+		}
+		return length;
+	}
+
+	public Locale getLocale() {
+		return locale;
+	}
+
+	public String format(String name, int age) {
+		String[] compiled = segments[pluralRule.select(age).ordinal()];
+		StringBuilder message = new StringBuilder(literalLength + name.length() + 11);
+		for (String segment : compiled) {
+			if (segment == null) {
+				message.append(name);
+			} else if (segment == AGE_SEGMENT) {
+				message.append(age);
+			} else {
+				message.append(segment);
+			}
+		}
+		return message.toString();
+	}
+}
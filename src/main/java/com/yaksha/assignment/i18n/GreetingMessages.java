@@ -0,0 +1,106 @@
+package com.yaksha.assignment.i18n;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Greeting text for every locale under classpath:i18n/greetings*.properties.
+ *
+ * Each file is compiled into a {@link GreetingFormat} at startup. Lookups go
+ * through the locale fallback chain (language_COUNTRY, language, default)
+ * once per distinct locale and are cached after that.
+ */
+@Component
+public class GreetingMessages {
+
+	private static final String LOCATION = "classpath*:i18n/greetings*.properties";
+	private static final String BASE_NAME = "greetings";
+
+	private final Map<Locale, GreetingFormat> formats;
+	private final GreetingFormat defaultFormat;
+	private final ConcurrentMap<Locale, GreetingFormat> resolved = new ConcurrentHashMap<>();
+
+	public GreetingMessages() throws IOException {
+		Map<Locale, GreetingFormat> loaded = new HashMap<>();
+		for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+			Locale locale = localeOf(resource.getFilename());
+			loaded.put(locale, compile(locale, resource));
+		}
+		this.defaultFormat = loaded.get(Locale.ROOT);
+		if (defaultFormat == null) {
+			throw new IllegalStateException("Missing default greeting bundle i18n/" + BASE_NAME + ".properties");
+		}
+		this.formats = Collections.unmodifiableMap(loaded);
+	}
+
+	private static Locale localeOf(String filename) {
+		String stem = filename.substring(0, filename.length() - ".properties".length());
+		if (stem.equals(BASE_NAME)) {
+			return Locale.ROOT;
+		}
+		String[] parts = stem.substring(BASE_NAME.length() + 1).split("_");
+		return parts.length == 1 ? new Locale(parts[0]) : new Locale(parts[0], parts[1]);
+	}
+
+	private static GreetingFormat compile(Locale locale, Resource resource) throws IOException {
+		Properties properties = new Properties();
+		try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		}
+		PluralRule rule = PluralRule.forId(properties.getProperty("plural.rule", "one-other"));
+		Map<PluralCategory, String> patterns = new EnumMap<>(PluralCategory.class);
+		for (PluralCategory category : PluralCategory.values()) {
+			String pattern = properties.getProperty("greeting." + category.key());
+			if (pattern != null) {
+				patterns.put(category, pattern);
+			}
+		}
+		return new GreetingFormat(locale, rule, patterns);
+	}
+
+	public String format(Locale locale, String name, int age) {
+		return forLocale(locale).format(name, age);
+	}
+
+	public GreetingFormat forLocale(Locale locale) {
+		GreetingFormat format = resolved.get(locale);
+		if (format == null) {
+			format = lookup(locale);
+			resolved.putIfAbsent(locale, format);
+		}
+		return format;
+	}
+
+	private GreetingFormat lookup(Locale locale) {
+		GreetingFormat format = formats.get(new Locale(locale.getLanguage(), locale.getCountry()));
+		if (format == null) {
+			format = formats.get(new Locale(locale.getLanguage()));
+		}
+		return format != null ? format : defaultFormat;
+	}
+
+	/**
+	 * Locales with their own bundle, not counting the default one.
+	 */
+	public Set<Locale> getSupportedLocales() {
+		Set<Locale> locales = new LinkedHashSet<>(formats.keySet());
+		locales.remove(Locale.ROOT);
+		return locales;
+	}
+}
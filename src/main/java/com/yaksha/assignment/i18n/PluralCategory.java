@@ -0,0 +1,12 @@
+package com.yaksha.assignment.i18n;
+
+import java.util.Locale;
+
+public enum PluralCategory {
+
+	ZERO, ONE, TWO, FEW, MANY, OTHER;
+
+	public String key() {
+		return name().toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,105 @@
+package com.yaksha.assignment.i18n;
+
+/**
+ * Cardinal plural rules for the locale families we ship greetings for,
+ * following the CLDR categories for integer counts.
+ */
+public enum PluralRule {
+
+	// en, de, es, it, nl, pt ...
+	ONE_OTHER("one-other") {
+		@Override
+		public PluralCategory select(int n) {
+			return n == 1 ? PluralCategory.ONE : PluralCategory.OTHER;
+		}
+	},
+
+	// fr: 0 and 1 take the singular
+	ZERO_AND_ONE_OTHER("zero-and-one-other") {
+		@Override
+		public PluralCategory select(int n) {
+			return n == 0 || n == 1 ? PluralCategory.ONE : PluralCategory.OTHER;
+		}
+	},
+
+	// ja, ko, zh: no plural inflection
+	OTHER("other") {
+		@Override
+		public PluralCategory select(int n) {
+			return PluralCategory.OTHER;
+		}
+	},
+
+	// ru, uk
+	EAST_SLAVIC("east-slavic") {
+		@Override
+		public PluralCategory select(int n) {
+			int mod10 = Math.abs(n % 10);
+			int mod100 = Math.abs(n % 100);
+			if (mod10 == 1 && mod100 != 11) {
+				return PluralCategory.ONE;
+			}
+			if (mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14)) {
+				return PluralCategory.FEW;
+			}
+			return PluralCategory.MANY;
+		}
+	},
+
+	// pl
+	POLISH("polish") {
+		@Override
+		public PluralCategory select(int n) {
+			int mod10 = Math.abs(n % 10);
+			int mod100 = Math.abs(n % 100);
+			if (n == 1) {
+				return PluralCategory.ONE;
+			}
+			if (mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14)) {
+				return PluralCategory.FEW;
+			}
+			return PluralCategory.MANY;
+		}
+	},
+
+	// ar
+	ARABIC("arabic") {
+		@Override
+		public PluralCategory select(int n) {
+			int mod100 = Math.abs(n % 100);
+			if (n == 0) {
+				return PluralCategory.ZERO;
+			}
+			if (n == 1) {
+				return PluralCategory.ONE;
+			}
+			if (n == 2) {
+				return PluralCategory.TWO;
+			}
+			if (mod100 >= 3 && mod100 <= 10) {
+				return PluralCategory.FEW;
+			}
+			if (mod100 >= 11) {
+				return PluralCategory.MANY;
+			}
+			return PluralCategory.OTHER;
+		}
+	};
+
+	private final String id;
+
+	PluralRule(String id) {
+		this.id = id;
+	}
+
+	public abstract PluralCategory select(int n);
+
+	public static PluralRule forId(String id) {
+		for (PluralRule rule : values()) {
+			if (rule.id.equals(id)) {
+				return rule;
+			}
+		}
+		throw new IllegalArgumentException("Unknown plural rule: " + id);
+	}
+}
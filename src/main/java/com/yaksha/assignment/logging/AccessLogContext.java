@@ -0,0 +1,69 @@
+package com.yaksha.assignment.logging;
+
+/**
+ * Per-thread scratch state for the request being logged. The access log
+ * filter owns it; the handler interceptor fills in the handler and view.
+ */
+public final class AccessLogContext {
+
+	private static final ThreadLocal<AccessLogContext> CURRENT = new ThreadLocal<>();
+
+	private CountingResponseWrapper response;
+	private String handler;
+	private String view;
+	private boolean active;
+
+	private AccessLogContext() {
+	}
+
+	// Reuses this thread's context; returns null when logging is not active
+	public static AccessLogContext current() {
+		AccessLogContext context = CURRENT.get();
+		return context != null && context.active ? context : null;
+	}
+
+	public static AccessLogContext begin() {
+		AccessLogContext context = CURRENT.get();
+		if (context == null) {
+			context = new AccessLogContext();
+			CURRENT.set(context);
+		}
+		context.handler = null;
+		context.view = null;
+		context.active = true;
+		return context;
+	}
+
+	public void end() {
+		active = false;
+	}
+
+	// An async request keeps its wrapper, so the next request on this thread needs a new one
+	public void detachResponse() {
+		response = null;
+	}
+
+	public CountingResponseWrapper getResponse() {
+		return response;
+	}
+
+	public void setResponse(CountingResponseWrapper response) {
+		this.response = response;
+	}
+
+	public String getHandler() {
+		return handler;
+	}
+
+	public void setHandler(String handler) {
+		this.handler = handler;
+	}
+
+	public String getView() {
+		return view;
+	}
+
+	public void setView(String view) {
+		this.view = view;
+	}
+}
@@ -0,0 +1,51 @@
+package com.yaksha.assignment.logging;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Records the handler method and view name of the current request for the
+ * access log. Handler names are built once per method and then looked up.
+ */
+@Component
+public class AccessLogInterceptor implements HandlerInterceptor {
+
+	private final ConcurrentMap<Method, String> handlerNames = new ConcurrentHashMap<>();
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		AccessLogContext context = AccessLogContext.current();
+		if (context != null && handler instanceof HandlerMethod) {
+			context.setHandler(handlerName((HandlerMethod) handler));
+		}
+		return true;
+	}
+
+	@Override
+	public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+			ModelAndView modelAndView) {
+		AccessLogContext context = AccessLogContext.current();
+		if (context != null && modelAndView != null) {
+			context.setView(modelAndView.getViewName());
+		}
+	}
+
+	private String handlerName(HandlerMethod handlerMethod) {
+		Method method = handlerMethod.getMethod();
+		String name = handlerNames.get(method);
+		if (name == null) {
+			name = method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+			handlerNames.putIfAbsent(method, name);
+		}
+		return name;
+	}
+}
@@ -0,0 +1,141 @@
+package com.yaksha.assignment.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Preallocated multi-producer, single-consumer ring of access log entries.
+ *
+ * Producers claim a sequence with a CAS and publish the filled entry by
+ * writing its sequence number; they never block and never allocate. When the
+ * consumer has fallen a full ring behind, new entries are dropped and counted
+ * rather than making the request wait.
+ */
+public class AccessLogRing {
+
+	public static final class Entry {
+
+		private volatile long sequence = -1;
+
+		long timestamp;
+		String method;
+		String path;
+		String handler;
+		String view;
+		int status;
+		long bytes;
+		long latencyNanos;
+
+		public long getTimestamp() {
+			return timestamp;
+		}
+
+		public String getMethod() {
+			return method;
+		}
+
+		public String getPath() {
+			return path;
+		}
+
+		public String getHandler() {
+			return handler;
+		}
+
+		public String getView() {
+			return view;
+		}
+
+		public int getStatus() {
+			return status;
+		}
+
+		public long getBytes() {
+			return bytes;
+		}
+
+		public long getLatencyNanos() {
+			return latencyNanos;
+		}
+	}
+
+	public interface EntryHandler {
+
+		void handle(Entry entry);
+
+	}
+
+	private final Entry[] entries;
+	private final int mask;
+	private final AtomicLong claimed = new AtomicLong();
+	private final LongAdder dropped = new LongAdder();
+	private volatile long consumed;
+
+	public AccessLogRing(int capacity) {
+		if (Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+		}
+		entries = new Entry[capacity];
+		for (int i = 0; i < capacity; i++) {
+			entries[i] = new Entry();
+		}
+		mask = capacity - 1;
+	}
+
+	public boolean publish(long timestamp, String method, String path, String handler, String view, int status,
+			long bytes, long latencyNanos) {
+		long sequence;
+		do {
+			sequence = claimed.get();
+			if (sequence - consumed >= entries.length) {
+				dropped.increment();
+				return false;
+			}
+		} while (!claimed.compareAndSet(sequence, sequence + 1));
+
+		Entry entry = entries[(int) sequence & mask];
+		entry.timestamp = timestamp;
+		entry.method = method;
+		entry.path = path;
+		entry.handler = handler;
+		entry.view = view;
+		entry.status = status;
+		entry.bytes = bytes;
+		entry.latencyNanos = latencyNanos;
+		entry.sequence = sequence;
+		return true;
+	}
+
+	/**
+	 * Hands up to max published entries to the handler, in order. Must only be
+	 * called from the single consumer thread.
+	 */
+	public int drain(EntryHandler handler, int max) {
+		long next = consumed;
+		int drained = 0;
+		while (drained < max) {
+			Entry entry = entries[(int) next & mask];
+			if (entry.sequence != next) {
+				break;
+			}
+			handler.handle(entry);
+			entry.method = entry.path = entry.handler = entry.view = null;
+			next++;
+			drained++;
+		}
+		consumed = next;
+		return drained;
+	}
+
+	public boolean isEmpty() {
+		return entries[(int) consumed & mask].sequence != consumed;
+	}
+
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	public long getPublished() {
+		return claimed.get();
+	}
+}
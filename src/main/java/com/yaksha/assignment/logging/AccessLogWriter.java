@@ -0,0 +1,185 @@
+package com.yaksha.assignment.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Background thread that drains an {@link AccessLogRing} in batches and
+ * appends one line per entry to a size-rotated file (access.log,
+ * access.log.1, ... access.log.N). Only this thread touches the file, up to
+ * and including the final drain and close once it is stopped.
+ */
+public class AccessLogWriter implements Runnable, Closeable {
+
+	private static final Log logger = LogFactory.getLog(AccessLogWriter.class);
+
+	private static final int BATCH_SIZE = 512;
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+	private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+	private final AccessLogRing ring;
+	private final Path file;
+	private final long maxFileBytes;
+	private final int maxHistory;
+	private final Thread thread;
+	private final StringBuilder line = new StringBuilder(256);
+
+	private final AtomicLong flushRequests = new AtomicLong();
+	private volatile long flushed;
+
+	private OutputStream out;
+	private long fileBytes;
+	private volatile boolean running = true;
+
+	public AccessLogWriter(AccessLogRing ring, Path file, long maxFileBytes, int maxHistory) throws IOException {
+		this.ring = ring;
+		this.file = file.toAbsolutePath();
+		this.maxFileBytes = maxFileBytes;
+		this.maxHistory = maxHistory;
+		Path dir = this.file.getParent();
+		if (dir != null) {
+			Files.createDirectories(dir);
+		}
+		open();
+		this.thread = new Thread(this, "access-log-writer");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	@Override
+	public void run() {
+		while (running) {
+			try {
+				long requested = flushRequests.get();
+				if (drainBatch() == 0) {
+					out.flush();
+					flushed = requested;
+					LockSupport.parkNanos(IDLE_PARK_NANOS);
+				}
+			} catch (IOException e) {
+				logger.warn("Access log write failed: " + e.getMessage());
+				LockSupport.parkNanos(IDLE_PARK_NANOS);
+			}
+		}
+		try {
+			while (drainBatch() > 0) {
+				// write out what was published before close()
+			}
+			out.close();
+		} catch (IOException e) {
+			logger.warn("Access log not closed cleanly: " + e.getMessage());
+		}
+	}
+
+	private int drainBatch() throws IOException {
+		IOException[] failure = new IOException[1];
+		int drained = ring.drain(entry -> {
+			if (failure[0] == null) {
+				try {
+					write(entry);
+				} catch (IOException e) {
+					failure[0] = e;
+				}
+			}
+		}, BATCH_SIZE);
+		if (failure[0] != null) {
+			throw failure[0];
+		}
+		return drained;
+	}
+
+	private void write(AccessLogRing.Entry entry) throws IOException {
+		line.setLength(0);
+		line.append(Instant.ofEpochMilli(entry.getTimestamp()))
+				.append(" method=").append(entry.getMethod())
+				.append(" path=").append(entry.getPath())
+				.append(" handler=").append(entry.getHandler() == null ? "-" : entry.getHandler())
+				.append(" view=").append(entry.getView() == null ? "-" : entry.getView())
+				.append(" status=").append(entry.getStatus())
+				.append(" bytes=").append(entry.getBytes())
+				.append(" latency_us=").append(entry.getLatencyNanos() / 1000)
+				.append('\n');
+		byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+		if (fileBytes + bytes.length > maxFileBytes && fileBytes > 0) {
+			rotate();
+		}
+		out.write(bytes);
+		fileBytes += bytes.length;
+	}
+
+	private void open() throws IOException {
+		out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND), 64 * 1024);
+		fileBytes = Files.size(file);
+	}
+
+	private void rotate() throws IOException {
+		out.close();
+		for (int i = maxHistory - 1; i >= 1; i--) {
+			Path older = history(i);
+			if (Files.exists(older)) {
+				Files.move(older, history(i + 1), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		if (maxHistory > 0) {
+			Files.move(file, history(1), StandardCopyOption.REPLACE_EXISTING);
+		} else {
+			Files.delete(file);
+		}
+		open();
+	}
+
+	private Path history(int index) {
+		return file.resolveSibling(file.getFileName() + "." + index);
+	}
+
+	/**
+	 * Waits until everything published to the ring so far has been written
+	 * to the file, or the timeout has passed. Returns whether it was.
+	 */
+	public boolean flush(long timeoutMillis) {
+		long target = flushRequests.incrementAndGet();
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		LockSupport.unpark(thread);
+		while (flushed < target) {
+			if (System.nanoTime() - deadline > 0 || !thread.isAlive()) {
+				return false;
+			}
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+		return true;
+	}
+
+	/**
+	 * Stops the thread, which writes out whatever is left in the ring and
+	 * closes the file. A thread stuck on a slow disk is left to finish on its
+	 * own rather than raced for the file.
+	 */
+	@Override
+	public void close() {
+		running = false;
+		LockSupport.unpark(thread);
+		try {
+			thread.join(CLOSE_TIMEOUT_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (thread.isAlive()) {
+			logger.warn("Access log writer still running after " + CLOSE_TIMEOUT_MILLIS + " ms, not waiting for it");
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package com.yaksha.assignment.logging;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Response wrapper that counts body bytes. It is designed to be reused for
+ * many requests on the same thread via {@link #reset(HttpServletResponse)},
+ * so counting does not allocate per request. Characters written through the
+ * writer are counted by their UTF-8 length, the charset the views use.
+ */
+public class CountingResponseWrapper extends HttpServletResponseWrapper {
+
+	private final CountingOutputStream stream = new CountingOutputStream();
+	private final CountingWriter writer = new CountingWriter();
+	private final ReusablePrintWriter printWriter = new ReusablePrintWriter();
+
+	private long bytes;
+
+	public CountingResponseWrapper(HttpServletResponse response) {
+		super(response);
+	}
+
+	public CountingResponseWrapper reset(HttpServletResponse response) {
+		setResponse(response);
+		stream.target = null;
+		writer.target = null;
+		printWriter.clearError();
+		bytes = 0;
+		return this;
+	}
+
+	public long getBytes() {
+		return bytes;
+	}
+
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		stream.target = super.getOutputStream();
+		return stream;
+	}
+
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		writer.target = super.getWriter();
+		return printWriter;
+	}
+
+	private class CountingOutputStream extends ServletOutputStream {
+
+		private ServletOutputStream target;
+
+		@Override
+		public void write(int b) throws IOException {
+			target.write(b);
+			bytes++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			target.write(b, off, len);
+			bytes += len;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			target.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			target.close();
+		}
+
+		@Override
+		public boolean isReady() {
+			return target.isReady();
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			target.setWriteListener(writeListener);
+		}
+	}
+
+	// Stays usable for the next request on this thread, including its error flag
+	private class ReusablePrintWriter extends PrintWriter {
+
+		ReusablePrintWriter() {
+			super(writer);
+		}
+
+		@Override
+		public void close() {
+			flush();
+			try {
+				writer.close();
+			} catch (IOException e) {
+				setError();
+			}
+		}
+
+		// The container's writer swallows I/O errors into its own flag
+		@Override
+		public boolean checkError() {
+			boolean error = super.checkError();
+			return error || writer.target instanceof PrintWriter && ((PrintWriter) writer.target).checkError();
+		}
+
+		@Override
+		protected void clearError() {
+			super.clearError();
+		}
+	}
+
+	private class CountingWriter extends Writer {
+
+		private Writer target;
+
+		@Override
+		public void write(int c) throws IOException {
+			target.write(c);
+			bytes += utf8Length((char) c);
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			target.write(cbuf, off, len);
+			for (int i = off; i < off + len; i++) {
+				bytes += utf8Length(cbuf[i]);
+			}
+		}
+
+		@Override
+		public void write(String str, int off, int len) throws IOException {
+			target.write(str, off, len);
+			for (int i = off; i < off + len; i++) {
+				bytes += utf8Length(str.charAt(i));
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (target != null) {
+				target.flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (target != null) {
+				target.close();
+			}
+		}
+	}
+
+	// Surrogates count 2 each, 4 per supplementary code point
+	private static int utf8Length(char c) {
+		if (c < 0x80) {
+			return 1;
+		}
+		if (c < 0x800 || Character.isSurrogate(c)) {
+			return 2;
+		}
+		return 3;
+	}
+}
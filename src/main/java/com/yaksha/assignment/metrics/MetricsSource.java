@@ -0,0 +1,14 @@
+package com.yaksha.assignment.metrics;
+
+import java.util.Map;
+
+/**
+ * Implemented by beans that publish counters on the /metrics endpoint.
+ */
+public interface MetricsSource {
+
+	String getMetricsName();
+
+	Map<String, Object> getMetrics();
+
+}
@@ -0,0 +1,30 @@
+package com.yaksha.assignment.model;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonPropertyOrder({ "name", "age", "message" })
+public class Greeting {
+
+	private final String name;
+	private final int age;
+	private final String message;
+
+	public Greeting(String name, int age, String message) {
+		this.name = name;
+		this.age = age;
+		this.message = message;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getAge() {
+		return age;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.yaksha.assignment.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.yaksha.assignment.Binding")
+@Label("Parameter Binding")
+@Description("Resolution and conversion of the handler method arguments")
+@Category({ "Yaksha", "Spring MVC" })
+@StackTrace(false)
+@Threshold("1 ms")
+class BindingEvent extends Event {
+
+	@Label("Handler")
+	String handler;
+}
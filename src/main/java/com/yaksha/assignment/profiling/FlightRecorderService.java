@@ -0,0 +1,117 @@
+package com.yaksha.assignment.profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+
+/**
+ * On-demand flight recording: the JDK's default settings plus the pipeline
+ * events, each with the threshold from profiling.threshold-ms.*. Only one
+ * recording runs at a time, and it stops by itself after
+ * profiling.max-seconds if nobody dumps it. Off unless profiling.enabled is
+ * set. The JVM's environment variables and system properties are left out
+ * of the recording, as they may hold secrets.
+ */
+@Component
+public class FlightRecorderService implements DisposableBean {
+
+	private static final String[] SENSITIVE_EVENTS = { "jdk.InitialEnvironmentVariable",
+			"jdk.InitialSystemProperty" };
+
+	@Value("${profiling.enabled:false}")
+	private boolean enabled;
+
+	@Value("${profiling.threshold-ms.request:10}")
+	private long requestThresholdMillis;
+
+	@Value("${profiling.threshold-ms.binding:1}")
+	private long bindingThresholdMillis;
+
+	@Value("${profiling.threshold-ms.handler:1}")
+	private long handlerThresholdMillis;
+
+	@Value("${profiling.threshold-ms.view-resolution:1}")
+	private long viewResolutionThresholdMillis;
+
+	@Value("${profiling.threshold-ms.render:5}")
+	private long renderThresholdMillis;
+
+	@Value("${profiling.max-seconds:600}")
+	private long maxSeconds;
+
+	private Recording recording;
+
+	/**
+	 * Starts a recording unless one is running. A threshold override applies
+	 * to every pipeline event, e.g. 0 to record all of them.
+	 */
+	public synchronized boolean start(Long thresholdMillisOverride) throws IOException, ParseException {
+		if (!enabled || recording != null) {
+			return false;
+		}
+		Recording started = new Recording(Configuration.getConfiguration("default"));
+		started.setName("yaksha-on-demand");
+		for (String event : SENSITIVE_EVENTS) {
+			started.disable(event);
+		}
+		enable(started, RequestEvent.class, requestThresholdMillis, thresholdMillisOverride);
+		enable(started, BindingEvent.class, bindingThresholdMillis, thresholdMillisOverride);
+		enable(started, HandlerEvent.class, handlerThresholdMillis, thresholdMillisOverride);
+		enable(started, ViewResolutionEvent.class, viewResolutionThresholdMillis, thresholdMillisOverride);
+		enable(started, RenderEvent.class, renderThresholdMillis, thresholdMillisOverride);
+		started.setToDisk(true);
+		started.setDuration(Duration.ofSeconds(maxSeconds));
+		started.start();
+		recording = started;
+		return true;
+	}
+
+	private static void enable(Recording recording, Class<? extends Event> event, long thresholdMillis,
+			Long override) {
+		recording.enable(event).withThreshold(Duration.ofMillis(override != null ? override : thresholdMillis));
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public synchronized boolean isRecording() {
+		return recording != null;
+	}
+
+	/**
+	 * Ends the current recording and writes it to a temporary file that the
+	 * caller must delete, or returns null if nothing is being recorded.
+	 */
+	public synchronized Path dump() throws IOException {
+		if (recording == null) {
+			return null;
+		}
+		Path file = Files.createTempFile("yaksha-", ".jfr");
+		try {
+			recording.dump(file);
+		} finally {
+			recording.close();
+			recording = null;
+		}
+		return file;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (recording != null) {
+			recording.close();
+			recording = null;
+		}
+	}
+}
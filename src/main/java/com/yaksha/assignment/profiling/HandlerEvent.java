@@ -0,0 +1,21 @@
+package com.yaksha.assignment.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.yaksha.assignment.Handler")
+@Label("Handler Method")
+@Description("The controller method itself, without binding or view rendering")
+@Category({ "Yaksha", "Spring MVC" })
+@StackTrace(false)
+@Threshold("1 ms")
+class HandlerEvent extends Event {
+
+	@Label("Handler")
+	String handler;
+}
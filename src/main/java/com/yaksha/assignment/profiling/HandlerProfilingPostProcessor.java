@@ -0,0 +1,95 @@
+package com.yaksha.assignment.profiling;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import com.yaksha.assignment.warmup.WarmupContext;
+
+import jdk.jfr.EventType;
+
+/**
+ * Proxies every controller so each request-mapped method call emits a
+ * {@link HandlerEvent}, and closes the pending {@link BindingEvent} of the
+ * {@link ProfilingDispatcherServlet} when the method is entered.
+ *
+ * The proxies are CGLIB subclasses, which costs a subclass per controller
+ * and an interceptor call per method, so they are only created with
+ * profiling.enabled=true. Without them there are no handler or binding
+ * events, since binding ends on entry to the method.
+ */
+@Component
+public class HandlerProfilingPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+	private static final ConcurrentMap<Method, String> NAMES = new ConcurrentHashMap<>();
+	private static final EventType HANDLER_TYPE = EventType.getEventType(HandlerEvent.class);
+
+	private boolean enabled;
+
+	// Post-processors are created before @Value placeholders can be resolved
+	@Override
+	public void setEnvironment(Environment environment) {
+		enabled = environment.getProperty("profiling.enabled", Boolean.class, false);
+	}
+
+	// Cached "Class#method" name, or "" for methods that are not request-mapped
+	static String name(Method method) {
+		String name = NAMES.get(method);
+		if (name == null) {
+			name = AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)
+					? method.getDeclaringClass().getSimpleName() + '#' + method.getName()
+					: "";
+			NAMES.putIfAbsent(method, name);
+		}
+		return name;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (!enabled || !AnnotatedElementUtils.hasAnnotation(ClassUtils.getUserClass(bean), Controller.class)) {
+			return bean;
+		}
+		ProxyFactory factory = new ProxyFactory(bean);
+		factory.setProxyTargetClass(true);
+		factory.addAdvice(new HandlerEventAdvice());
+		return factory.getProxy(ClassUtils.getUserClass(bean).getClassLoader());
+	}
+
+	private static class HandlerEventAdvice implements MethodInterceptor {
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			String handler = name(invocation.getMethod());
+			if (handler.isEmpty() || WarmupContext.isWarmingUp()) {
+				return invocation.proceed();
+			}
+			ProfilingDispatcherServlet.endBinding();
+			if (!HANDLER_TYPE.isEnabled()) {
+				return invocation.proceed();
+			}
+			HandlerEvent event = new HandlerEvent();
+			event.begin();
+			try {
+				return invocation.proceed();
+			} finally {
+				event.end();
+				if (event.shouldCommit()) {
+					event.handler = handler;
+					event.commit();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package com.yaksha.assignment.profiling;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerAdapter;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.View;
+
+import jdk.jfr.EventType;
+
+/**
+ * DispatcherServlet that emits JDK Flight Recorder events for the request,
+ * parameter binding, view resolution and rendering. The handler method
+ * itself is covered by {@link HandlerProfilingPostProcessor}, and binding is
+ * only timed when that is on as well.
+ *
+ * Nothing is recorded unless a recording enables the events, and then only
+ * stages slower than the event's threshold are committed. Whether a type is
+ * enabled is checked before an event is allocated, so requests without a
+ * recording pay for a flag read only.
+ */
+public class ProfilingDispatcherServlet extends DispatcherServlet {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final EventType REQUEST_TYPE = EventType.getEventType(RequestEvent.class);
+	private static final EventType BINDING_TYPE = EventType.getEventType(BindingEvent.class);
+	private static final EventType VIEW_RESOLUTION_TYPE = EventType.getEventType(ViewResolutionEvent.class);
+	private static final EventType RENDER_TYPE = EventType.getEventType(RenderEvent.class);
+
+	// Binding runs from the adapter's handle() to the handler method's entry
+	private static final ThreadLocal<BindingEvent> BINDING = new ThreadLocal<>();
+
+	private final transient ConcurrentMap<HandlerAdapter, HandlerAdapter> adapters = new ConcurrentHashMap<>();
+
+	private boolean profileBinding;
+
+	public ProfilingDispatcherServlet(WebApplicationContext webApplicationContext) {
+		super(webApplicationContext);
+	}
+
+	@Override
+	protected void doDispatch(HttpServletRequest request, HttpServletResponse response) throws Exception {
+		if (!REQUEST_TYPE.isEnabled()) {
+			super.doDispatch(request, response);
+			return;
+		}
+		RequestEvent event = new RequestEvent();
+		event.begin();
+		try {
+			super.doDispatch(request, response);
+		} finally {
+			event.end();
+			if (event.shouldCommit()) {
+				event.method = request.getMethod();
+				event.uri = request.getRequestURI();
+				event.status = response.getStatus();
+				event.commit();
+			}
+		}
+	}
+
+	@Override
+	protected void initFrameworkServlet() {
+		profileBinding = getWebApplicationContext().getEnvironment().getProperty("profiling.enabled", Boolean.class,
+				false);
+	}
+
+	@Override
+	protected HandlerAdapter getHandlerAdapter(Object handler) throws ServletException {
+		HandlerAdapter adapter = super.getHandlerAdapter(handler);
+		return profileBinding ? adapters.computeIfAbsent(adapter, ProfilingHandlerAdapter::new) : adapter;
+	}
+
+	@Override
+	protected View resolveViewName(String viewName, Map<String, Object> model, Locale locale,
+			HttpServletRequest request) throws Exception {
+		if (!VIEW_RESOLUTION_TYPE.isEnabled()) {
+			return super.resolveViewName(viewName, model, locale, request);
+		}
+		ViewResolutionEvent event = new ViewResolutionEvent();
+		event.begin();
+		View view = null;
+		try {
+			view = super.resolveViewName(viewName, model, locale, request);
+			return view;
+		} finally {
+			event.end();
+			if (event.shouldCommit()) {
+				event.viewName = viewName;
+				event.resolved = view != null;
+				event.commit();
+			}
+		}
+	}
+
+	@Override
+	protected void render(ModelAndView mv, HttpServletRequest request, HttpServletResponse response)
+			throws Exception {
+		if (!RENDER_TYPE.isEnabled()) {
+			super.render(mv, request, response);
+			return;
+		}
+		RenderEvent event = new RenderEvent();
+		event.begin();
+		try {
+			super.render(mv, request, response);
+		} finally {
+			event.end();
+			if (event.shouldCommit()) {
+				event.viewName = mv.getViewName();
+				event.commit();
+			}
+		}
+	}
+
+	// Called on entry to a profiled handler method
+	static void endBinding() {
+		BindingEvent event = BINDING.get();
+		if (event != null) {
+			BINDING.remove();
+			commit(event);
+		}
+	}
+
+	private static void commit(BindingEvent event) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.commit();
+		}
+	}
+
+	private static class ProfilingHandlerAdapter implements HandlerAdapter {
+
+		private final HandlerAdapter delegate;
+
+		ProfilingHandlerAdapter(HandlerAdapter delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public boolean supports(Object handler) {
+			return delegate.supports(handler);
+		}
+
+		@Override
+		public ModelAndView handle(HttpServletRequest request, HttpServletResponse response, Object handler)
+				throws Exception {
+			if (!(handler instanceof HandlerMethod) || !BINDING_TYPE.isEnabled()) {
+				return delegate.handle(request, response, handler);
+			}
+			BindingEvent event = new BindingEvent();
+			event.handler = HandlerProfilingPostProcessor.name(((HandlerMethod) handler).getMethod());
+			event.begin();
+			BINDING.set(event);
+			try {
+				return delegate.handle(request, response, handler);
+			} finally {
+				// Still pending if binding failed before the method was reached
+				if (BINDING.get() == event) {
+					BINDING.remove();
+					commit(event);
+				}
+			}
+		}
+
+		@Override
+		public long getLastModified(HttpServletRequest request, Object handler) {
+			return delegate.getLastModified(request, handler);
+		}
+	}
+}
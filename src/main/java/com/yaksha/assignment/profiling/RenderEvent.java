@@ -0,0 +1,21 @@
+package com.yaksha.assignment.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.yaksha.assignment.Render")
+@Label("View Rendering")
+@Description("Rendering of the view, including its resolution, e.g. a JSP forward")
+@Category({ "Yaksha", "Spring MVC" })
+@StackTrace(false)
+@Threshold("5 ms")
+class RenderEvent extends Event {
+
+	@Label("View Name")
+	String viewName;
+}
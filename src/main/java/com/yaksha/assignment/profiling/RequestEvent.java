@@ -0,0 +1,27 @@
+package com.yaksha.assignment.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.yaksha.assignment.Request")
+@Label("HTTP Request")
+@Description("A request through the DispatcherServlet, up to the end of the response or the start of async processing")
+@Category({ "Yaksha", "Spring MVC" })
+@StackTrace(false)
+@Threshold("10 ms")
+class RequestEvent extends Event {
+
+	@Label("Method")
+	String method;
+
+	@Label("URI")
+	String uri;
+
+	@Label("Status")
+	int status;
+}
@@ -0,0 +1,24 @@
+package com.yaksha.assignment.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.yaksha.assignment.ViewResolution")
+@Label("View Resolution")
+@Description("Resolution of a view name by the view resolvers")
+@Category({ "Yaksha", "Spring MVC" })
+@StackTrace(false)
+@Threshold("1 ms")
+class ViewResolutionEvent extends Event {
+
+	@Label("View Name")
+	String viewName;
+
+	@Label("Resolved")
+	boolean resolved;
+}
@@ -0,0 +1,123 @@
+package com.yaksha.assignment.template;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.View;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * A tenant's greeting page, compiled once from a copy of greeting.jsp.
+ *
+ * Page and taglib directives are dropped and every ${attribute} becomes a
+ * slot for the HTML-escaped model attribute of that name; the text between
+ * slots is kept as UTF-8 bytes, so rendering only encodes the attribute
+ * values. Anything else JSP would evaluate (other directives, scriptlets,
+ * prefixed tags, EL beyond a bare attribute name) would otherwise be sent to
+ * the browser as written, so a template containing any is rejected.
+ */
+public class GreetingTemplate implements View {
+
+	private static final String CONTENT_TYPE = "text/html;charset=UTF-8";
+	private static final Pattern DIRECTIVE = Pattern.compile("<%@\\s*(page|taglib)\\s[^%]*%>\\r?\\n?");
+	private static final Pattern SLOT = Pattern.compile("\\$\\{\\s*([A-Za-z_][A-Za-z0-9_]*)\\s*\\}");
+	private static final Pattern PREFIXED_TAG = Pattern.compile("</?[A-Za-z][A-Za-z0-9_.-]*:");
+	private static final byte[] EMPTY = new byte[0];
+
+	private final String tenant;
+	private final long version;
+	private final byte[][] literals;
+	private final String[] attributes;
+	private final int literalLength;
+
+	private GreetingTemplate(String tenant, long version, byte[][] literals, String[] attributes) {
+		this.tenant = tenant;
+		this.version = version;
+		this.literals = literals;
+		this.attributes = attributes;
+		int length = 0;
+		for (byte[] literal : literals) {
+			length += literal.length;
+		}
+		this.literalLength = length;
+	}
+
+	/**
+	 * Compiles the template source.
+	 *
+	 * @throws IllegalArgumentException if the source uses anything beyond page
+	 *                                  and taglib directives and ${attribute}
+	 *                                  slots
+	 */
+	public static GreetingTemplate compile(String tenant, String source) {
+		String page = DIRECTIVE.matcher(source).replaceAll("");
+		if (page.contains("<%") || page.contains("#{") || PREFIXED_TAG.matcher(page).find()) {
+			throw new IllegalArgumentException("Template for " + tenant + " uses JSP features beyond ${...} slots");
+		}
+
+		List<byte[]> literals = new ArrayList<>();
+		List<String> attributes = new ArrayList<>();
+		Matcher slot = SLOT.matcher(page);
+		int start = 0;
+		for (int el = page.indexOf("${"); el >= 0; el = page.indexOf("${", start)) {
+			if (!slot.region(el, page.length()).lookingAt()) {
+				throw new IllegalArgumentException("Template for " + tenant + " has an expression that is not a "
+						+ "bare attribute name at offset " + el);
+			}
+			literals.add(page.substring(start, el).getBytes(StandardCharsets.UTF_8));
+			attributes.add(slot.group(1));
+			start = slot.end();
+		}
+		literals.add(page.substring(start).getBytes(StandardCharsets.UTF_8));
+		CRC32 version = new CRC32();
+		version.update(source.getBytes(StandardCharsets.UTF_8));
+		return new GreetingTemplate(tenant, version.getValue(), literals.toArray(new byte[0][]),
+				attributes.toArray(new String[0]));
+	}
+
+	public String getTenant() {
+		return tenant;
+	}
+
+	// Checksum of the source, the same in every JVM that loads the same file
+	public long getVersion() {
+		return version;
+	}
+
+	@Override
+	public String getContentType() {
+		return CONTENT_TYPE;
+	}
+
+	// Missing attributes render empty, as they do in EL
+	@Override
+	public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response)
+			throws Exception {
+		byte[][] values = new byte[attributes.length][];
+		int length = literalLength;
+		for (int i = 0; i < attributes.length; i++) {
+			Object value = model != null ? model.get(attributes[i]) : null;
+			values[i] = value == null ? EMPTY
+					: HtmlUtils.htmlEscape(value.toString(), "UTF-8").getBytes(StandardCharsets.UTF_8);
+			length += values[i].length;
+		}
+
+		response.setContentType(CONTENT_TYPE);
+		response.setContentLength(length);
+		OutputStream out = response.getOutputStream();
+		for (int i = 0; i < attributes.length; i++) {
+			out.write(literals[i]);
+			out.write(values[i]);
+		}
+		out.write(literals[attributes.length]);
+	}
+}
@@ -0,0 +1,303 @@
+package com.yaksha.assignment.template;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import com.yaksha.assignment.metrics.MetricsSource;
+
+/**
+ * Per-tenant greeting templates, swapped in while the application runs.
+ *
+ * Every brand-a.jsp or brand-a.html in tenant.templates-dir is compiled
+ * once into a {@link GreetingTemplate} for tenant "brand-a". A tenant with
+ * more than one file, such as brand-a.jsp and brand-a.html, is logged and
+ * served from its .jsp file, or the first by name among files of the same
+ * kind; removing that file falls back to the next. The templates live in an
+ * immutable map that is replaced as a whole whenever a file is added,
+ * changed or deleted, so the render path reads it without locking and never
+ * sees a half-updated set. A WatchService thread picks up the changes; a
+ * template that fails to compile leaves the previous one in place.
+ * The registry resolves the "greeting" view ahead of the JSP resolver: to
+ * the request's tenant template when there is one, otherwise not at all, so
+ * tenants without a template get greeting.jsp. Disabled when no directory
+ * is configured.
+ */
+@Component
+public class GreetingTemplateRegistry implements ViewResolver, Ordered, InitializingBean, DisposableBean,
+		MetricsSource {
+
+	private static final Log logger = LogFactory.getLog(GreetingTemplateRegistry.class);
+
+	// The view a tenant's template stands in for
+	public static final String GREETING_VIEW = "greeting";
+
+	@Value("${tenant.templates-dir:}")
+	private String dir;
+
+	private volatile Map<String, GreetingTemplate> templates = Collections.emptyMap();
+	private final Object swapLock = new Object();
+
+	private Path directory;
+	private WatchService watchService;
+	private Thread watcher;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final AtomicLong swaps = new AtomicLong();
+	private final AtomicLong compileErrors = new AtomicLong();
+
+	@Override
+	public void afterPropertiesSet() throws IOException {
+		if (!StringUtils.hasText(dir)) {
+			return;
+		}
+		directory = Paths.get(dir).toAbsolutePath();
+		Files.createDirectories(directory);
+
+		// Registered before the initial load so no change in between is missed
+		watchService = directory.getFileSystem().newWatchService();
+		directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+				StandardWatchEventKinds.ENTRY_DELETE);
+		reloadAll();
+
+		watcher = new Thread(this::watchLoop, "greeting-template-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	/**
+	 * The template of the tenant the current request is for, or null if it
+	 * has none or there is no current request.
+	 */
+	public GreetingTemplate forCurrentRequest() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (!(attributes instanceof ServletRequestAttributes)) {
+			return null;
+		}
+		return forTenant(TenantResolver.resolve(((ServletRequestAttributes) attributes).getRequest()));
+	}
+
+	public GreetingTemplate forTenant(String tenant) {
+		GreetingTemplate template = templates.get(tenant);
+		if (template != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return template;
+	}
+
+	/**
+	 * What a greeting page rendered for this request depends on beyond its
+	 * parameters: the tenant and version of its template, or "" for tenants
+	 * served greeting.jsp. Caches key pages on it, so a swapped template is
+	 * never hidden behind pages rendered from the old one, and tenant ids a
+	 * client makes up all share the one greeting.jsp entry.
+	 */
+	public String variantOf(HttpServletRequest request) {
+		GreetingTemplate template = templates.get(TenantResolver.resolve(request));
+		return template == null ? "" : template.getTenant() + '@' + Long.toHexString(template.getVersion());
+	}
+
+	@Override
+	public View resolveViewName(String viewName, Locale locale) {
+		return GREETING_VIEW.equals(viewName) ? forCurrentRequest() : null;
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	private void watchLoop() {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+						reloadAll();
+					} else {
+						reload(directory.resolve((Path) event.context()));
+					}
+				}
+				if (!key.reset()) {
+					logger.warn("Greeting template directory " + directory + " is no longer watched");
+					return;
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// Shutting down
+		}
+	}
+
+	void reloadAll() {
+		Map<String, Path> sources;
+		try {
+			sources = sources();
+		} catch (IOException e) {
+			logger.error("Greeting templates not reloaded", e);
+			return;
+		}
+		Map<String, GreetingTemplate> loaded = new HashMap<>();
+		for (Map.Entry<String, Path> source : sources.entrySet()) {
+			GreetingTemplate template = compile(source.getKey(), source.getValue());
+			if (template != null) {
+				loaded.put(source.getKey(), template);
+			}
+		}
+		synchronized (swapLock) {
+			templates = Collections.unmodifiableMap(loaded);
+			swaps.incrementAndGet();
+		}
+	}
+
+	// Copy, change, publish: readers keep using the old map until the volatile write
+	void reload(Path file) {
+		String tenant = tenantOf(file);
+		if (tenant == null) {
+			return;
+		}
+		// The tenant may have another file that now takes over, or that this one does not replace
+		Path source;
+		try {
+			source = sources().get(tenant);
+		} catch (IOException e) {
+			logger.error("Greeting template of tenant " + tenant + " not reloaded", e);
+			return;
+		}
+		GreetingTemplate template = null;
+		if (source != null) {
+			template = compile(tenant, source);
+			if (template == null) {
+				return;
+			}
+		}
+		synchronized (swapLock) {
+			Map<String, GreetingTemplate> swapped = new HashMap<>(templates);
+			if (template != null) {
+				swapped.put(tenant, template);
+			} else {
+				swapped.remove(tenant);
+			}
+			templates = Collections.unmodifiableMap(swapped);
+			swaps.incrementAndGet();
+		}
+	}
+
+	private GreetingTemplate compile(String tenant, Path file) {
+		try {
+			byte[] source = Files.readAllBytes(file);
+			// A file being written shows up empty first; its modify event follows
+			if (source.length == 0) {
+				return null;
+			}
+			return GreetingTemplate.compile(tenant, new String(source, StandardCharsets.UTF_8));
+		} catch (IOException | IllegalArgumentException e) {
+			compileErrors.incrementAndGet();
+			logger.warn("Greeting template " + file + " not loaded: " + e.getMessage());
+			return null;
+		}
+	}
+
+	// The file each tenant's template is read from
+	private Map<String, Path> sources() throws IOException {
+		Map<String, Path> sources = new HashMap<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+			for (Path file : files) {
+				String tenant = tenantOf(file);
+				if (tenant == null || !Files.isRegularFile(file)) {
+					continue;
+				}
+				Path other = sources.get(tenant);
+				if (other == null) {
+					sources.put(tenant, file);
+					continue;
+				}
+				Path chosen = preferred(other, file);
+				logger.warn("Greeting templates " + other.getFileName() + " and " + file.getFileName()
+						+ " are both for tenant " + tenant + ", using " + chosen.getFileName());
+				sources.put(tenant, chosen);
+			}
+		}
+		return sources;
+	}
+
+	// A .jsp over an .html, otherwise the first by name, whatever order the directory lists them in
+	private static Path preferred(Path a, Path b) {
+		boolean aJsp = a.getFileName().toString().endsWith(".jsp");
+		boolean bJsp = b.getFileName().toString().endsWith(".jsp");
+		if (aJsp != bJsp) {
+			return aJsp ? a : b;
+		}
+		return a.getFileName().toString().compareTo(b.getFileName().toString()) <= 0 ? a : b;
+	}
+
+	// Editor swap files and other extensions are ignored
+	private static String tenantOf(Path file) {
+		String name = file.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		if (dot <= 0 || name.startsWith(".")) {
+			return null;
+		}
+		String extension = name.substring(dot);
+		if (!".jsp".equals(extension) && !".html".equals(extension)) {
+			return null;
+		}
+		return name.substring(0, dot).toLowerCase(Locale.ROOT);
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		if (watchService != null) {
+			watchService.close();
+		}
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "greetingTemplates";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("tenants", templates.keySet());
+		metrics.put("hits", hits.sum());
+		metrics.put("misses", misses.sum());
+		metrics.put("swaps", swaps.get());
+		metrics.put("compileErrors", compileErrors.get());
+		return metrics;
+	}
+}
@@ -0,0 +1,28 @@
+package com.yaksha.assignment.template;
+
+import java.util.Locale;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * The brand a request is served for: the X-Tenant header set by the front
+ * proxy, or else the first label of the host name, so brand-a.example.com
+ * is tenant "brand-a". Tenant ids are lower case.
+ */
+public final class TenantResolver {
+
+	public static final String TENANT_HEADER = "X-Tenant";
+
+	private TenantResolver() {
+	}
+
+	public static String resolve(HttpServletRequest request) {
+		String tenant = request.getHeader(TENANT_HEADER);
+		if (tenant == null || tenant.isEmpty()) {
+			String host = request.getServerName();
+			int dot = host.indexOf('.');
+			tenant = dot > 0 ? host.substring(0, dot) : host;
+		}
+		return tenant.toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,117 @@
+package com.yaksha.assignment.validation;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rules for the greeting parameters, compiled once into plain checks: a name
+ * length range in code points, a bitset of allowed code points and an age
+ * range. Letters, combining marks, spaces, hyphens, periods and apostrophes
+ * are allowed in names; everything else, including markup, is rejected.
+ *
+ * Each check returns null when the input is valid, or a constant reason.
+ */
+@Component
+public class GreetingValidator {
+
+	public static final String NAME_MISSING = "name is required";
+	public static final String NAME_LENGTH = "name has an invalid length";
+	public static final String NAME_CHARACTERS = "name contains characters that are not allowed";
+	public static final String AGE_MISSING = "age is required";
+	public static final String AGE_NOT_A_NUMBER = "age must be a whole number";
+	public static final String AGE_RANGE = "age is out of range";
+
+	// Planes 0-2 cover every script used for names, including the CJK extensions
+	private static final int CODE_POINT_LIMIT = 0x30000;
+	private static final String EXTRA_CHARACTERS = " -.'\u2019";
+
+	private final int minNameLength;
+	private final int maxNameLength;
+	private final int minAge;
+	private final int maxAge;
+	private final long[] allowed = new long[CODE_POINT_LIMIT >>> 6];
+
+	@Autowired
+	public GreetingValidator(@Value("${greeting.validation.name.min-length:1}") int minNameLength,
+			@Value("${greeting.validation.name.max-length:64}") int maxNameLength,
+			@Value("${greeting.validation.age.min:0}") int minAge,
+			@Value("${greeting.validation.age.max:150}") int maxAge) {
+		this.minNameLength = minNameLength;
+		this.maxNameLength = maxNameLength;
+		this.minAge = minAge;
+		this.maxAge = maxAge;
+
+		for (int codePoint = 0; codePoint < CODE_POINT_LIMIT; codePoint++) {
+			int type = Character.getType(codePoint);
+			if (Character.isLetter(codePoint) || type == Character.NON_SPACING_MARK
+					|| type == Character.COMBINING_SPACING_MARK) {
+				allow(codePoint);
+			}
+		}
+		for (int i = 0; i < EXTRA_CHARACTERS.length(); i++) {
+			allow(EXTRA_CHARACTERS.charAt(i));
+		}
+	}
+
+	private void allow(int codePoint) {
+		allowed[codePoint >>> 6] |= 1L << codePoint;
+	}
+
+	/** Validates raw request parameters, parsing the age without exceptions. */
+	public String validate(String name, String age) {
+		String reason = validateName(name);
+		if (reason != null) {
+			return reason;
+		}
+		if (age == null || age.isEmpty()) {
+			return AGE_MISSING;
+		}
+		int length = age.length();
+		int i = age.charAt(0) == '-' || age.charAt(0) == '+' ? 1 : 0;
+		if (i == length || length - i > 9) {
+			return AGE_NOT_A_NUMBER;
+		}
+		int value = 0;
+		for (; i < length; i++) {
+			int digit = age.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				return AGE_NOT_A_NUMBER;
+			}
+			value = value * 10 + digit;
+		}
+		return validateAge(age.charAt(0) == '-' ? -value : value);
+	}
+
+	public String validate(String name, int age) {
+		String reason = validateName(name);
+		return reason != null ? reason : validateAge(age);
+	}
+
+	public String validateName(String name) {
+		if (name == null) {
+			return NAME_MISSING;
+		}
+		// A code point takes at most two chars, so the char count bounds it
+		int chars = name.length();
+		if (chars < minNameLength || chars > maxNameLength * 2) {
+			return NAME_LENGTH;
+		}
+		int codePoints = 0;
+		for (int i = 0; i < chars; codePoints++) {
+			int codePoint = name.codePointAt(i);
+			if (codePoint >= CODE_POINT_LIMIT || (allowed[codePoint >>> 6] & 1L << codePoint) == 0) {
+				return NAME_CHARACTERS;
+			}
+			i += Character.charCount(codePoint);
+		}
+		if (codePoints < minNameLength || codePoints > maxNameLength || name.trim().isEmpty()) {
+			return NAME_LENGTH;
+		}
+		return null;
+	}
+
+	public String validateAge(int age) {
+		return age < minAge || age > maxAge ? AGE_RANGE : null;
+	}
+}
@@ -0,0 +1,193 @@
+package com.yaksha.assignment.view;
+
+import java.net.MalformedURLException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.ServletContext;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.Ordered;
+import org.springframework.web.context.ServletContextAware;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.view.UrlBasedViewResolver;
+
+import com.yaksha.assignment.metrics.MetricsSource;
+
+/**
+ * Bounded view cache in front of a {@link UrlBasedViewResolver}.
+ *
+ * Every view file under the prefix is resolved at startup. A name that is
+ * not cached is resolved by the delegate and checked against the servlet
+ * context once; if no such file exists the view is kept in a separate cache
+ * of misses for a while, so made-up view names cannot push real views out.
+ * Either way the caller gets the delegate's view, whose forward answers 404
+ * for a missing file just as it would without the cache. When a cache is
+ * full the entry used least recently is evicted. Views do not vary by
+ * locale, so entries are keyed by name only.
+ */
+public class CachingViewResolver implements ViewResolver, Ordered, InitializingBean, ApplicationContextAware,
+		ServletContextAware, MetricsSource {
+
+	private final UrlBasedViewResolver delegate;
+	private final String prefix;
+	private final String suffix;
+	private final int maxSize;
+	private final long negativeTtlNanos;
+
+	private final ConcurrentMap<String, Cached> views = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Cached> missing = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder negativeHits = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	private ServletContext servletContext;
+
+	public CachingViewResolver(UrlBasedViewResolver delegate, String prefix, String suffix, int maxSize,
+			long negativeTtlSeconds) {
+		this.delegate = delegate;
+		this.prefix = prefix;
+		this.suffix = suffix;
+		this.maxSize = maxSize;
+		this.negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtlSeconds);
+		delegate.setPrefix(prefix);
+		delegate.setSuffix(suffix);
+		delegate.setCache(false);
+	}
+
+	// The delegate is not a bean of its own, so it needs the contexts passed on
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext) {
+		delegate.setApplicationContext(applicationContext);
+	}
+
+	@Override
+	public void setServletContext(ServletContext servletContext) {
+		this.servletContext = servletContext;
+		delegate.setServletContext(servletContext);
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		Set<String> paths = servletContext.getResourcePaths(prefix);
+		if (paths == null) {
+			return;
+		}
+		for (String path : paths) {
+			if (path.endsWith(suffix)) {
+				String name = path.substring(prefix.length(), path.length() - suffix.length());
+				View view = delegate.resolveViewName(name, Locale.ROOT);
+				if (view != null) {
+					cache(views, name, new Cached(view, 0));
+				}
+			}
+		}
+	}
+
+	@Override
+	public View resolveViewName(String viewName, Locale locale) throws Exception {
+		Cached cached = views.get(viewName);
+		if (cached != null) {
+			hits.increment();
+			return cached.use();
+		}
+		cached = missing.get(viewName);
+		if (cached != null && cached.expiry - System.nanoTime() > 0) {
+			negativeHits.increment();
+			return cached.use();
+		}
+
+		misses.increment();
+		View view = delegate.resolveViewName(viewName, locale);
+		if (view == null) {
+			return null;
+		}
+		if (!isSpecialName(viewName) && !exists(viewName)) {
+			cache(missing, viewName, new Cached(view, System.nanoTime() + negativeTtlNanos));
+			return view;
+		}
+		missing.remove(viewName);
+		cache(views, viewName, new Cached(view, 0));
+		return view;
+	}
+
+	private void cache(ConcurrentMap<String, Cached> cache, String viewName, Cached cached) {
+		if (cache.size() >= maxSize && !cache.containsKey(viewName)) {
+			evictLeastRecentlyUsed(cache);
+		}
+		cache.put(viewName, cached);
+	}
+
+	// A scan of at most maxSize entries, on a miss only, keeps hits free of locks
+	private void evictLeastRecentlyUsed(ConcurrentMap<String, Cached> cache) {
+		Map.Entry<String, Cached> eldest = null;
+		for (Map.Entry<String, Cached> entry : cache.entrySet()) {
+			if (eldest == null || entry.getValue().lastUsed - eldest.getValue().lastUsed < 0) {
+				eldest = entry;
+			}
+		}
+		if (eldest != null && cache.remove(eldest.getKey(), eldest.getValue())) {
+			evictions.increment();
+		}
+	}
+
+	private static boolean isSpecialName(String viewName) {
+		return viewName.startsWith(UrlBasedViewResolver.REDIRECT_URL_PREFIX)
+				|| viewName.startsWith(UrlBasedViewResolver.FORWARD_URL_PREFIX);
+	}
+
+	private boolean exists(String viewName) throws MalformedURLException {
+		return servletContext.getResource(prefix + viewName + suffix) != null;
+	}
+
+	// After the cached views, in case another resolver is ever added
+	@Override
+	public int getOrder() {
+		return Ordered.LOWEST_PRECEDENCE;
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "viewCache";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("views", views.size());
+		metrics.put("missingViews", missing.size());
+		metrics.put("hits", hits.sum());
+		metrics.put("negativeHits", negativeHits.sum());
+		metrics.put("misses", misses.sum());
+		metrics.put("evictions", evictions.sum());
+		return metrics;
+	}
+
+	private static class Cached {
+
+		private final View view;
+		private final long expiry;
+		private volatile long lastUsed = System.nanoTime();
+
+		Cached(View view, long expiry) {
+			this.view = view;
+			this.expiry = expiry;
+		}
+
+		View use() {
+			lastUsed = System.nanoTime();
+			return view;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.yaksha.assignment.warmup;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Latencies of the requests served during the first minute of traffic, the
+ * window that warm-up is meant to improve. Comparing its p99 across deploys
+ * with greeting.warmup.enabled on and off shows what warm-up buys. Fed by
+ * {@link com.yaksha.assignment.filter.FirstMinuteLatencyFilter}, which leaves
+ * out probes and other operational requests, so the window starts with the
+ * first real request.
+ */
+@Component
+public class FirstMinuteLatency {
+
+	private static final int MAX_SAMPLES = 1 << 17;
+
+	private final long windowNanos;
+	private final long[] samples = new long[MAX_SAMPLES];
+	private final AtomicInteger count = new AtomicInteger();
+	private final AtomicLong firstRequestNanos = new AtomicLong();
+
+	public FirstMinuteLatency() {
+		this(TimeUnit.MINUTES.toNanos(1));
+	}
+
+	FirstMinuteLatency(long windowNanos) {
+		this.windowNanos = windowNanos;
+	}
+
+	public void record(long latencyNanos) {
+		long now = System.nanoTime();
+		firstRequestNanos.compareAndSet(0, now);
+		if (now - firstRequestNanos.get() > windowNanos) {
+			return;
+		}
+		int index = count.getAndIncrement();
+		if (index < MAX_SAMPLES) {
+			samples[index] = latencyNanos;
+		}
+	}
+
+	public Map<String, Object> report() {
+		int recorded = Math.min(count.get(), MAX_SAMPLES);
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("requests", recorded);
+		if (recorded > 0) {
+			long[] sorted = Arrays.copyOf(samples, recorded);
+			Arrays.sort(sorted);
+			report.put("p50Micros", sorted[recorded / 2] / 1000);
+			report.put("p99Micros", sorted[Math.min(recorded - 1, (int) (recorded * 0.99))] / 1000);
+			report.put("maxMicros", sorted[recorded - 1] / 1000);
+		}
+		long first = firstRequestNanos.get();
+		report.put("complete", first != 0 && System.nanoTime() - first > windowNanos);
+		return report;
+	}
+}
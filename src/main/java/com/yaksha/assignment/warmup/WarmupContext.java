@@ -0,0 +1,25 @@
+package com.yaksha.assignment.warmup;
+
+/**
+ * Marks the warm-up thread so synthetic greetings are not recorded as real
+ * traffic by history, analytics or the live feed.
+ */
+public final class WarmupContext {
+
+	private static final ThreadLocal<Boolean> WARMING_UP = new ThreadLocal<>();
+
+	private WarmupContext() {
+	}
+
+	public static boolean isWarmingUp() {
+		return WARMING_UP.get() != null;
+	}
+
+	static void begin() {
+		WARMING_UP.set(Boolean.TRUE);
+	}
+
+	static void end() {
+		WARMING_UP.remove();
+	}
+}
@@ -0,0 +1,182 @@
+package com.yaksha.assignment.warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.servlet.ViewResolver;
+
+import com.yaksha.assignment.codec.GreetingEncoder;
+import com.yaksha.assignment.controller.GreetingController;
+import com.yaksha.assignment.i18n.GreetingMessages;
+import com.yaksha.assignment.model.Greeting;
+
+/**
+ * Replays a synthetic workload in-process once the dispatcher context is up,
+ * so the JIT, the greeting formats, the encoders and the view cache are warm
+ * before the load balancer sends traffic.
+ *
+ * The workload runs in rounds of greeting.warmup.iterations calls to
+ * showForm/greetUser plus view resolution and API encoding, cycling through
+ * every supported locale. The instance reports ready once the p99 of
+ * greeting.warmup.stable-rounds consecutive rounds stays within
+ * greeting.warmup.tolerance of each other, or after greeting.warmup.max-rounds.
+ */
+@Component
+public class WarmupService {
+
+	private static final Log logger = LogFactory.getLog(WarmupService.class);
+
+	private static final String[] NAMES = { "Alice", "Bob", "Chandra", "Dmitri", "Élodie", "Fatima", "Gustav",
+			"Hiroshi", "Ines", "Jonas" };
+
+	@Autowired
+	private GreetingController greetingController;
+
+	@Autowired
+	@Qualifier("resolver")
+	private ViewResolver viewResolver;
+
+	@Autowired
+	private GreetingEncoder greetingEncoder;
+
+	@Autowired
+	private GreetingMessages greetingMessages;
+
+	@Value("${greeting.warmup.enabled:true}")
+	private boolean enabled;
+
+	@Value("${greeting.warmup.iterations:2000}")
+	private int iterations;
+
+	@Value("${greeting.warmup.max-rounds:50}")
+	private int maxRounds;
+
+	@Value("${greeting.warmup.stable-rounds:3}")
+	private int stableRounds;
+
+	@Value("${greeting.warmup.tolerance:0.10}")
+	private double tolerance;
+
+	private final List<Long> roundP99Nanos = new ArrayList<>();
+	private volatile boolean started;
+	private volatile boolean ready;
+	private volatile long durationMillis;
+
+	@EventListener
+	public void onContextRefreshed(ContextRefreshedEvent event) {
+		if (started) {
+			return;
+		}
+		started = true;
+		if (!enabled) {
+			ready = true;
+			return;
+		}
+		Thread thread = new Thread(this::warmUp, "greeting-warmup");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private void warmUp() {
+		long start = System.nanoTime();
+		List<Locale> locales = new ArrayList<>(greetingMessages.getSupportedLocales());
+		locales.add(0, Locale.ENGLISH);
+		ByteArrayOutputStream sink = new ByteArrayOutputStream(256);
+
+		WarmupContext.begin();
+		try {
+			long[] latencies = new long[iterations];
+			boolean stable = false;
+			for (int round = 0; round < maxRounds && !stable; round++) {
+				for (int i = 0; i < iterations; i++) {
+					Locale locale = locales.get(i % locales.size());
+					String name = NAMES[i % NAMES.length];
+					int age = i % 100;
+
+					long begin = System.nanoTime();
+					replay(locale, name, age, sink);
+					latencies[i] = System.nanoTime() - begin;
+				}
+				Arrays.sort(latencies);
+				synchronized (roundP99Nanos) {
+					roundP99Nanos.add(latencies[(int) (iterations * 0.99)]);
+					stable = isStable();
+				}
+			}
+		} catch (Exception e) {
+			logger.warn("Warm-up aborted", e);
+		} finally {
+			WarmupContext.end();
+			LocaleContextHolder.resetLocaleContext();
+			durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			ready = true;
+		}
+	}
+
+	// One synthetic form view and greeting, through the same beans a request uses
+	private void replay(Locale locale, String name, int age, ByteArrayOutputStream sink) throws Exception {
+		LocaleContextHolder.setLocale(locale);
+		viewResolver.resolveViewName(greetingController.showForm(), locale);
+
+		ExtendedModelMap model = new ExtendedModelMap();
+		String view = greetingController.greetUser(name, age, model);
+		viewResolver.resolveViewName(view, locale);
+
+		Greeting greeting = new Greeting(name, age, (String) model.get("greetingMessage"));
+		sink.reset();
+		greetingEncoder.writeJson(greeting, sink);
+		sink.reset();
+		greetingEncoder.writeCbor(greeting, sink);
+	}
+
+	private boolean isStable() {
+		int rounds = roundP99Nanos.size();
+		if (rounds < stableRounds) {
+			return false;
+		}
+		long min = Long.MAX_VALUE;
+		long max = 0;
+		for (long p99 : roundP99Nanos.subList(rounds - stableRounds, rounds)) {
+			min = Math.min(min, p99);
+			max = Math.max(max, p99);
+		}
+		return max <= min * (1 + tolerance);
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	public Map<String, Object> report() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("ready", ready);
+		report.put("enabled", enabled);
+		synchronized (roundP99Nanos) {
+			report.put("rounds", roundP99Nanos.size());
+			if (!roundP99Nanos.isEmpty()) {
+				report.put("coldRoundP99Micros", roundP99Nanos.get(0) / 1000);
+				report.put("lastRoundP99Micros", roundP99Nanos.get(roundP99Nanos.size() - 1) / 1000);
+			}
+		}
+		if (ready && enabled) {
+			report.put("durationMillis", durationMillis);
+		}
+		return report;
+	}
+}
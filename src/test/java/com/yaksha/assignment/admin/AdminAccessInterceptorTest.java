@@ -0,0 +1,44 @@
+package com.yaksha.assignment.admin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class AdminAccessInterceptorTest {
+
+	@Test
+	public void testOnlyLoopbackWithoutToken() throws Exception {
+		AdminAccessInterceptor interceptor = new AdminAccessInterceptor();
+		ReflectionTestUtils.setField(interceptor, "token", "");
+
+		assertTrue(interceptor.preHandle(request("127.0.0.1", null), new MockHttpServletResponse(), null));
+		assertTrue(interceptor.preHandle(request("0:0:0:0:0:0:0:1", null), new MockHttpServletResponse(), null));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		assertFalse(interceptor.preHandle(request("10.1.2.3", null), response, null));
+		assertEquals(403, response.getStatus());
+	}
+
+	@Test
+	public void testTokenIsRequiredEvenFromLoopbackOnceSet() throws Exception {
+		AdminAccessInterceptor interceptor = new AdminAccessInterceptor();
+		ReflectionTestUtils.setField(interceptor, "token", "s3cret");
+
+		assertTrue(interceptor.preHandle(request("10.1.2.3", "s3cret"), new MockHttpServletResponse(), null));
+		assertFalse(interceptor.preHandle(request("127.0.0.1", null), new MockHttpServletResponse(), null));
+		assertFalse(interceptor.preHandle(request("127.0.0.1", "s3cre"), new MockHttpServletResponse(), null));
+	}
+
+	private static MockHttpServletRequest request(String remoteAddr, String token) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/drain");
+		request.setRemoteAddr(remoteAddr);
+		if (token != null) {
+			request.addHeader(AdminAccessInterceptor.TOKEN_HEADER, token);
+		}
+		return request;
+	}
+}
@@ -0,0 +1,30 @@
+package com.yaksha.assignment.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Covers the bucket edges, including ages no form should send.
+ */
+public class AgeHistogramTest {
+
+	@Test
+	public void testAgesLandInTheirDecadeAndTheEdgesAreOpen() {
+		AgeHistogram histogram = new AgeHistogram();
+		for (int age : new int[] { -1, Integer.MIN_VALUE, 0, 9, 10, 119, 120, Integer.MAX_VALUE }) {
+			histogram.add(age);
+		}
+
+		Map<String, Long> snapshot = histogram.snapshot();
+		assertEquals(histogram.getBucketCount(), snapshot.size());
+		assertEquals(2L, snapshot.get("<0"));
+		assertEquals(2L, snapshot.get("0-9"));
+		assertEquals(1L, snapshot.get("10-19"));
+		assertEquals(0L, snapshot.get("20-29"));
+		assertEquals(1L, snapshot.get("110-119"));
+		assertEquals(2L, snapshot.get("120+"));
+	}
+}
@@ -0,0 +1,62 @@
+package com.yaksha.assignment.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Feeds the sketch a seeded random stream and checks the estimates against
+ * exact counts.
+ */
+public class CountMinSketchTest {
+
+	@Test
+	public void testMurmur3MatchesReferenceVectors() {
+		assertEquals(0, CountMinSketch.murmur3(new byte[0], 0));
+		assertEquals(0x514E28B7, CountMinSketch.murmur3(new byte[0], 1));
+		assertEquals(0x248BFA47, CountMinSketch.murmur3("hello".getBytes(StandardCharsets.UTF_8), 0));
+	}
+
+	@Test
+	public void testEstimatesNeverUnderCountAndStayWithinTheErrorBound() {
+		int width = 1024;
+		CountMinSketch sketch = new CountMinSketch(4, width);
+		Map<String, Long> exact = new HashMap<>();
+		Random random = new Random(42);
+		int total = 20000;
+		for (int i = 0; i < total; i++) {
+			// Skewed towards low numbers, like real names
+			String key = "name" + (int) Math.abs(random.nextGaussian() * 500);
+			exact.merge(key, 1L, Long::sum);
+			sketch.add(key);
+		}
+
+		long bound = (long) Math.ceil(Math.E * total / width);
+		int withinBound = 0;
+		for (Map.Entry<String, Long> entry : exact.entrySet()) {
+			long estimate = sketch.estimate(entry.getKey());
+			assertTrue(estimate >= entry.getValue(), entry.getKey() + " was under-counted");
+			if (estimate - entry.getValue() <= bound) {
+				withinBound++;
+			}
+		}
+		assertTrue(withinBound >= exact.size() * 0.98, withinBound + " of " + exact.size() + " within bound");
+	}
+
+	@Test
+	public void testKeysWithTheSameStringHashAreKeptApart() {
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+		CountMinSketch sketch = new CountMinSketch(4, 4096);
+		for (int i = 0; i < 100; i++) {
+			sketch.add("Aa");
+		}
+		assertEquals(100, sketch.estimate("Aa"));
+		assertEquals(0, sketch.estimate("BB"));
+	}
+}
@@ -0,0 +1,66 @@
+package com.yaksha.assignment.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the Space-Saving bounds on a stream of a few hot names buried in
+ * many names seen once.
+ */
+public class HeavyHittersTest {
+
+	@Test
+	public void testUntrackedKeyReplacesTheMinimumAndInheritsItsCount() {
+		HeavyHitters heavyHitters = new HeavyHitters(1, 2);
+		add(heavyHitters, "a");
+		add(heavyHitters, "a");
+		add(heavyHitters, "b");
+		add(heavyHitters, "c");
+
+		List<HeavyHitters.Counter> top = heavyHitters.top(10);
+		assertEquals(2, top.size());
+		assertEquals(2, heavyHitters.getTrackedKeys());
+		HeavyHitters.Counter c = top.get(0).getKey().equals("c") ? top.get(0) : top.get(1);
+		assertEquals("c", c.getKey());
+		assertEquals(2, c.getCount());
+		assertEquals(1, c.getError());
+	}
+
+	@Test
+	public void testHotKeysSurviveColdTrafficWithinTheirErrorBounds() {
+		HeavyHitters heavyHitters = new HeavyHitters(4, 8);
+		Map<String, Long> exact = new HashMap<>();
+		for (int i = 0; i < 4000; i++) {
+			String key = i % 2 == 0 ? "hot" + (i / 2) % 4 : "cold" + i;
+			exact.merge(key, 1L, Long::sum);
+			add(heavyHitters, key);
+		}
+
+		List<HeavyHitters.Counter> top = heavyHitters.top(4);
+		Set<String> names = new HashSet<>();
+		for (HeavyHitters.Counter counter : top) {
+			names.add(counter.getKey());
+		}
+		assertEquals(new HashSet<>(Arrays.asList("hot0", "hot1", "hot2", "hot3")), names);
+
+		for (HeavyHitters.Counter counter : heavyHitters.top(Integer.MAX_VALUE)) {
+			long actual = exact.get(counter.getKey());
+			assertTrue(counter.getCount() >= actual, counter.getKey() + " was under-counted");
+			assertTrue(counter.getCount() - counter.getError() <= actual, counter.getKey() + " error bound too tight");
+		}
+		assertTrue(heavyHitters.getTrackedKeys() <= 4 * 8);
+	}
+
+	private static void add(HeavyHitters heavyHitters, String key) {
+		heavyHitters.add(key, key.hashCode());
+	}
+}
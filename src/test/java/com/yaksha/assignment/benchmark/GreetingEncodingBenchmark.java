@@ -0,0 +1,159 @@
+package com.yaksha.assignment.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.Servlet;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.jsp.JspFactory;
+
+import org.apache.jasper.runtime.JspFactoryImpl;
+import org.apache.tomcat.InstanceManager;
+import org.apache.tomcat.SimpleInstanceManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.view.JstlView;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+import com.yaksha.assignment.codec.GreetingEncoder;
+import com.yaksha.assignment.model.Greeting;
+
+/**
+ * Encode cost of the /greet representations. The HTML baseline renders the
+ * model through the same JstlView and precompiled greeting.jsp servlet that
+ * the dispatcher uses, so it includes EL evaluation and the JSP writer; only
+ * the container is replaced by mocks, whose request and response are created
+ * per render. Run mvn compile first so the precompiled page is on the class
+ * path. Bytes on the wire for each format are printed during setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GreetingEncodingBenchmark {
+
+	private static final String GREETING_JSP = "/WEB-INF/views/greeting.jsp";
+
+	// Generated by jspc from GREETING_JSP
+	private static final String GREETING_JSP_CLASS = "jsp.WEB_002dINF.views.greeting_jsp";
+
+	private final GreetingEncoder encoder = new GreetingEncoder();
+	private final ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+
+	private Greeting greeting;
+	private Map<String, Object> model;
+	private Servlet page;
+	private MockServletContext servletContext;
+	private GenericWebApplicationContext context;
+	private JstlView view;
+	private final RequestDispatcher dispatcher = new PageDispatcher();
+
+	@Setup
+	public void setUp() throws Exception {
+		greeting = new Greeting("John", 25, "Hello, John. You are 25 years old!");
+		model = Collections.singletonMap("greetingMessage", greeting.getMessage());
+
+		// The generated page looks the factory up when its class is initialised
+		if (JspFactory.getDefaultFactory() == null) {
+			JspFactory.setDefaultFactory(new JspFactoryImpl());
+		}
+		// Spring logs every render at debug, which the JSON and CBOR paths do not pay for
+		((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+		servletContext = new MockServletContext();
+		servletContext.setAttribute(InstanceManager.class.getName(), new SimpleInstanceManager());
+		page = (Servlet) Class.forName(GREETING_JSP_CLASS).getDeclaredConstructor().newInstance();
+		page.init(new MockServletConfig(servletContext, "greeting_jsp"));
+
+		context = new GenericWebApplicationContext(servletContext);
+		context.refresh();
+		view = new JstlView(GREETING_JSP);
+		view.setServletContext(servletContext);
+		view.setApplicationContext(context);
+
+		System.out.println();
+		System.out.println("Bytes on the wire: html=" + html() + ", json=" + json() + ", cbor=" + cbor());
+	}
+
+	@TearDown
+	public void tearDown() {
+		page.destroy();
+		context.close();
+	}
+
+	@Benchmark
+	public int html() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/greet") {
+
+			@Override
+			public RequestDispatcher getRequestDispatcher(String path) {
+				return GREETING_JSP.equals(path) ? dispatcher : super.getRequestDispatcher(path);
+			}
+		};
+		request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, context);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		view.render(model, request, response);
+		return response.getContentAsByteArray().length;
+	}
+
+	@Benchmark
+	public int json() throws IOException {
+		out.reset();
+		encoder.writeJson(greeting, out);
+		return out.size();
+	}
+
+	@Benchmark
+	public int cbor() throws IOException {
+		out.reset();
+		encoder.writeCbor(greeting, out);
+		return out.size();
+	}
+
+	// Runs the precompiled page in place of the container's forward
+	private class PageDispatcher implements RequestDispatcher {
+
+		@Override
+		public void forward(ServletRequest request, ServletResponse response) throws ServletException, IOException {
+			page.service(request, response);
+		}
+
+		@Override
+		public void include(ServletRequest request, ServletResponse response) throws ServletException, IOException {
+			page.service(request, response);
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(GreetingEncodingBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,77 @@
+package com.yaksha.assignment.benchmark;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.yaksha.assignment.i18n.GreetingMessages;
+
+/**
+ * Precompiled {@link GreetingMessages} against the naive approach of parsing
+ * a MessageFormat pattern on every request, across several locales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GreetingMessagesBenchmark {
+
+	@Param({ "en", "fr", "de", "ru", "pl", "ja", "ar" })
+	private String languageTag;
+
+	private GreetingMessages greetingMessages;
+	private Locale locale;
+	private String messageFormatPattern;
+
+	@Setup
+	public void setUp() throws IOException {
+		greetingMessages = new GreetingMessages();
+		locale = Locale.forLanguageTag(languageTag);
+
+		String bundle = "en".equals(languageTag) ? "i18n/greetings.properties"
+				: "i18n/greetings_" + languageTag + ".properties";
+		Properties properties = new Properties();
+		try (Reader reader = new InputStreamReader(getClass().getClassLoader().getResourceAsStream(bundle),
+				StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		}
+		messageFormatPattern = properties.getProperty("greeting.other").replace("'", "''")
+				.replace("{name}", "{0}").replace("{age}", "{1}");
+	}
+
+	@Benchmark
+	public String precompiled() {
+		return greetingMessages.format(locale, "John", 25);
+	}
+
+	@Benchmark
+	public String messageFormatPerRequest() {
+		return new MessageFormat(messageFormatPattern, locale).format(new Object[] { "John", 25 });
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(GreetingMessagesBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,100 @@
+package com.yaksha.assignment.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.yaksha.assignment.validation.GreetingValidator;
+
+/**
+ * Precompiled {@link GreetingValidator} against the equivalent Bean Validation
+ * constraints checked by Hibernate Validator, for valid and invalid input.
+ * Both start from the raw request parameters, as GreetingValidationFilter
+ * does, so the age is parsed on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GreetingValidationBenchmark {
+
+	@Param({ "John Smith", "Élodie", "<script>" })
+	private String name;
+
+	@Param({ "25", "200", "abc" })
+	private String age;
+
+	private GreetingValidator greetingValidator;
+	private Validator beanValidator;
+
+	@Setup
+	public void setUp() {
+		greetingValidator = new GreetingValidator(1, 64, 0, 150);
+		beanValidator = Validation.byDefaultProvider().configure()
+				.messageInterpolator(new ParameterMessageInterpolator()).buildValidatorFactory().getValidator();
+	}
+
+	@Benchmark
+	public String precompiled() {
+		return greetingValidator.validate(name, age);
+	}
+
+	@Benchmark
+	public Set<ConstraintViolation<GreetingParameters>> hibernateValidator() {
+		Integer parsedAge;
+		try {
+			parsedAge = Integer.valueOf(age);
+		} catch (NumberFormatException e) {
+			parsedAge = null;
+		}
+		return beanValidator.validate(new GreetingParameters(name, parsedAge));
+	}
+
+	public static class GreetingParameters {
+
+		@NotNull
+		@Size(min = 1, max = 64)
+		@Pattern(regexp = "[\\p{L}\\p{M} .'\u2019-]+")
+		private final String name;
+
+		@NotNull
+		@Min(0)
+		@Max(150)
+		private final Integer age;
+
+		GreetingParameters(String name, Integer age) {
+			this.name = name;
+			this.age = age;
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(GreetingValidationBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,124 @@
+package com.yaksha.assignment.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.yaksha.assignment.compression.DeflaterPool;
+import com.yaksha.assignment.compression.TemplateGzipEncoder;
+
+/**
+ * CPU per response of a fresh GZIPOutputStream, a pooled deflater and the
+ * template-aware encoder, for the greeting page as rendered and for a page
+ * with a larger fixed head. The bytes each approach produces are printed
+ * once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseCompressionBenchmark {
+
+	private static final int PAGES = 64;
+
+	@Param({ "greeting", "largeHead" })
+	private String page;
+
+	private byte[][] bodies;
+	private DeflaterPool pool;
+	private TemplateGzipEncoder templateEncoder;
+	private TemplateGzipEncoder plainEncoder;
+	private int next;
+
+	@Setup
+	public void setUp() throws IOException {
+		StringBuilder head = new StringBuilder();
+		if ("largeHead".equals(page)) {
+			for (int i = 0; i < 40; i++) {
+				head.append("    <link rel=\"stylesheet\" href=\"/static/css/style").append(i).append(".css\">\n");
+			}
+		}
+		bodies = new byte[PAGES][];
+		for (int i = 0; i < PAGES; i++) {
+			bodies[i] = ("<!DOCTYPE html>\n<html>\n<head>\n    <title>Personalized Greeting</title>\n" + head
+					+ "</head>\n<body>\n    <h2>Hello, Name" + i + ". You are " + i + " years old!</h2>\n</body>\n"
+					+ "</html>\n").getBytes(StandardCharsets.UTF_8);
+		}
+		pool = new DeflaterPool(6, 8);
+		templateEncoder = new TemplateGzipEncoder(pool, 16);
+		plainEncoder = new TemplateGzipEncoder(pool, 0);
+
+		long raw = 0;
+		long gzipStream = 0;
+		long templated = 0;
+		for (byte[] body : bodies) {
+			raw += body.length;
+			gzipStream += gzipOutputStream(body).size();
+			templated += encode(templateEncoder, body).size();
+		}
+		System.out.println("Page " + page + ": " + raw / PAGES + " bytes raw, " + gzipStream / PAGES
+				+ " bytes with GZIPOutputStream, " + templated / PAGES + " bytes with templates");
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.close();
+	}
+
+	private byte[] nextBody() {
+		return bodies[next++ & (PAGES - 1)];
+	}
+
+	@Benchmark
+	public ByteArrayOutputStream freshGzipOutputStream() throws IOException {
+		return gzipOutputStream(nextBody());
+	}
+
+	@Benchmark
+	public ByteArrayOutputStream pooledDeflater() {
+		return encode(plainEncoder, nextBody());
+	}
+
+	@Benchmark
+	public ByteArrayOutputStream templateGzip() {
+		return encode(templateEncoder, nextBody());
+	}
+
+	private static ByteArrayOutputStream gzipOutputStream(byte[] body) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(body);
+		}
+		return out;
+	}
+
+	private static ByteArrayOutputStream encode(TemplateGzipEncoder encoder, byte[] body) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 64);
+		encoder.encode("/greet", body, body.length, out);
+		return out;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ResponseCompressionBenchmark.class.getSimpleName()).build()).run();
+	}
+}
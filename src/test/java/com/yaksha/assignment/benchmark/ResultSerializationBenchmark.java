@@ -0,0 +1,98 @@
+package com.yaksha.assignment.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yaksha.assignment.utils.ResultSerializer;
+import com.yaksha.assignment.utils.TestCaseResultDto;
+import com.yaksha.assignment.utils.TestResults;
+
+/**
+ * Cost of serializing a run's worth of grading results, one payload per
+ * assertion as yakshaAssert sends them. The legacy path builds a new
+ * ObjectMapper and two Strings per payload; the streaming path writes
+ * through the shared {@link ResultSerializer}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultSerializationBenchmark {
+
+	private static final String GUID = "6ed39465-d6d3-4ec4-b27d-1dcb870b2992";
+
+	@Param({ "1000", "5000" })
+	private int results;
+
+	private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+
+	private List<Map<String, TestCaseResultDto>> caseResults;
+	private TestResults envelope;
+
+	@Setup
+	public void setUp() {
+		caseResults = new ArrayList<>(results);
+		for (int i = 0; i < results; i++) {
+			String status = i % 7 == 0 ? "Failed" : "Passed";
+			caseResults.add(Collections.singletonMap(GUID, new TestCaseResultDto("testGreetUser" + i, "functional", 1,
+					"Passed".equals(status) ? 1 : 0, status, true, "")));
+		}
+		envelope = new TestResults();
+		envelope.setCustomData("{\"attempt\":\"local\"}\n");
+		envelope.setHostName("grader-0");
+		envelope.setAttemptId("42");
+		envelope.setFilePath("/workspace/target/test-classes/");
+	}
+
+	@Benchmark
+	public long legacy() throws IOException {
+		long bytes = 0;
+		for (Map<String, TestCaseResultDto> caseResult : caseResults) {
+			out.reset();
+			envelope.setTestCaseResults(new ObjectMapper().writeValueAsString(caseResult));
+			byte[] input = new ObjectMapper().writeValueAsString(envelope).getBytes(StandardCharsets.UTF_8);
+			out.write(input);
+			bytes += out.size();
+		}
+		return bytes;
+	}
+
+	@Benchmark
+	public long streaming() throws IOException {
+		long bytes = 0;
+		for (Map<String, TestCaseResultDto> caseResult : caseResults) {
+			out.reset();
+			ResultSerializer.write(caseResult, envelope, out);
+			bytes += out.size();
+		}
+		return bytes;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ResultSerializationBenchmark.class.getSimpleName()).build()).run();
+	}
+}
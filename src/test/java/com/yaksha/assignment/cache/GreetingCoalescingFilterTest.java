@@ -0,0 +1,116 @@
+package com.yaksha.assignment.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.yaksha.assignment.event.GreetingEvents;
+import com.yaksha.assignment.filter.GreetingCoalescingFilter;
+import com.yaksha.assignment.template.GreetingTemplateRegistry;
+
+/**
+ * Holds the first request inside the chain until a second identical one is
+ * waiting for it, then checks that the second gets the same response.
+ */
+public class GreetingCoalescingFilterTest {
+
+	@Test
+	public void testFollowerGetsTheLeadersHeadersAndBody() throws Exception {
+		GreetingCoalescingFilter filter = new GreetingCoalescingFilter();
+		ReflectionTestUtils.setField(filter, "enabled", true);
+		ReflectionTestUtils.setField(filter, "waitMillis", 5000L);
+		ReflectionTestUtils.setField(filter, "greetingEvents", new GreetingEvents());
+		ReflectionTestUtils.setField(filter, "greetingTemplates", new GreetingTemplateRegistry());
+
+		CountDownLatch rendering = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger renders = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			MockHttpServletResponse leader = new MockHttpServletResponse();
+			// Set by a filter in front, which does the same for every request
+			leader.setHeader("X-Outer", "1");
+			Future<?> leading = executor.submit(() -> {
+				filter.doFilter(request(), leader, new MockFilterChain(new HttpServlet() {
+
+					@Override
+					protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+						renders.incrementAndGet();
+						res.setContentType("text/html;charset=UTF-8");
+						res.setLocale(Locale.FRENCH);
+						res.addHeader("Vary", "Accept-Language");
+						res.setHeader("Link", "</static/css/style.css>; rel=preload; as=style");
+						res.addCookie(new Cookie("lastGreeting", "Ada"));
+						rendering.countDown();
+						try {
+							release.await();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+						res.getWriter().write("<h2>Bonjour, Ada</h2>");
+					}
+				}));
+				return null;
+			});
+			assertTrue(rendering.await(5, TimeUnit.SECONDS));
+
+			MockHttpServletResponse follower = new MockHttpServletResponse();
+			Thread[] following = new Thread[1];
+			Future<?> follows = executor.submit(() -> {
+				following[0] = Thread.currentThread();
+				filter.doFilter(request(), follower, new MockFilterChain());
+				return null;
+			});
+			while (following[0] == null || following[0].getState() != Thread.State.TIMED_WAITING) {
+				Thread.sleep(1);
+			}
+			release.countDown();
+			leading.get(5, TimeUnit.SECONDS);
+			follows.get(5, TimeUnit.SECONDS);
+
+			assertEquals(1, renders.get());
+			assertEquals(1L, filter.getMetrics().get("collapsed"));
+			assertArrayEquals(leader.getContentAsByteArray(), follower.getContentAsByteArray());
+			assertEquals(leader.getContentType(), follower.getContentType());
+			assertEquals("fr", follower.getHeader("Content-Language"));
+			assertEquals(1, follower.getHeaders("Vary").size());
+			assertEquals("Accept-Language", follower.getHeader("Vary"));
+			assertEquals(leader.getHeader("Link"), follower.getHeader("Link"));
+			assertEquals("Ada", follower.getCookie("lastGreeting").getValue());
+			assertNull(follower.getHeader("X-Outer"));
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	private static MockHttpServletRequest request() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/greet");
+		request.setServletPath("/greet");
+		request.addParameter("name", "Ada");
+		request.addParameter("age", "36");
+		request.addHeader("Accept-Language", "fr");
+		return request;
+	}
+}
@@ -0,0 +1,161 @@
+package com.yaksha.assignment.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the lock-free read protocol of the shared cache against a second
+ * mapping of its file, which plays the part of a writer in another process.
+ */
+public class SharedGreetingCacheTest {
+
+	private static final int SLOTS = SharedGreetingCache.PROBE_WINDOW;
+	private static final int SLOT_SIZE = 256;
+
+	private Path file;
+	private SharedGreetingCache cache;
+
+	@BeforeEach
+	public void open() throws Exception {
+		file = Files.createTempFile("greeting-cache", ".bin");
+		cache = new SharedGreetingCache(file, SLOTS, SLOT_SIZE);
+	}
+
+	@AfterEach
+	public void close() throws Exception {
+		cache.close();
+		Files.delete(file);
+	}
+
+	@Test
+	public void testReadIsRejectedWhileSlotIsBeingWritten() throws Exception {
+		byte[] key = SharedGreetingCache.key("John", 25, "");
+		cache.put(key, page("John"));
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			MappedByteBuffer raw = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+			int base = slotOf(raw, key);
+			int seq = raw.getInt(base + SharedGreetingCache.SEQ);
+
+			// Odd while another process is writing the slot
+			raw.putInt(base + SharedGreetingCache.SEQ, seq + 1);
+			assertNull(cache.get(key));
+
+			raw.putInt(base + SharedGreetingCache.SEQ, seq + 2);
+			assertArrayEquals(page("John"), cache.get(key));
+		}
+	}
+
+	@Test
+	public void testReadIsRejectedWhenContentsDoNotMatchCrc() throws Exception {
+		byte[] key = SharedGreetingCache.key("John", 25, "");
+		cache.put(key, page("John"));
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			MappedByteBuffer raw = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+			int base = slotOf(raw, key);
+			// A torn write that left the sequence number even
+			int offset = base + SharedGreetingCache.DATA + key.length;
+			raw.put(offset, (byte) (raw.get(offset) ^ 0x20));
+			assertNull(cache.get(key));
+		}
+
+		// The next write repairs the slot
+		cache.put(key, page("John"));
+		assertArrayEquals(page("John"), cache.get(key));
+	}
+
+	@Test
+	public void testClockEvictsEntryNotReadSinceLastSweep() throws Exception {
+		// With as many slots as the probe window every key competes for the same slots
+		for (int i = 0; i < SLOTS; i++) {
+			cache.put(key(i), page("v" + i));
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			MappedByteBuffer raw = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+
+			// Every entry was just written, so the sweep clears all reference bits and evicts one
+			cache.put(key(SLOTS), page("v" + SLOTS));
+			int evicted = -1;
+			for (int i = 0; i < SLOTS; i++) {
+				if (find(raw, key(i)) < 0) {
+					assertEquals(-1, evicted, "only one entry should be evicted");
+					evicted = i;
+				}
+			}
+			assertTrue(evicted >= 0);
+
+			// Reading sets the bit again on all but one
+			int cold = evicted == 0 ? 1 : 0;
+			for (int i = 0; i < SLOTS; i++) {
+				if (i != evicted && i != cold) {
+					assertNotNull(cache.get(key(i)));
+				}
+			}
+			cache.put(key(SLOTS + 1), page("v" + (SLOTS + 1)));
+
+			assertTrue(find(raw, key(cold)) < 0, "the entry not read since the sweep should be the victim");
+			for (int i = 0; i <= SLOTS + 1; i++) {
+				if (i != evicted && i != cold) {
+					assertArrayEquals(page("v" + i), cache.get(key(i)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testKeysAreComparedInFull() throws Exception {
+		byte[] john = SharedGreetingCache.key("John", 25, "");
+		byte[] jane = SharedGreetingCache.key("Jane", 25, "");
+		cache.put(john, page("John"));
+		cache.put(jane, page("Jane"));
+
+		assertArrayEquals(page("John"), cache.get(john));
+		assertArrayEquals(page("Jane"), cache.get(jane));
+		assertNull(cache.get(SharedGreetingCache.key("John", 26, "")));
+	}
+
+	private static byte[] key(int i) {
+		return SharedGreetingCache.key("name" + i, 20 + i, "");
+	}
+
+	private static byte[] page(String text) {
+		return ("<h2>" + text + "</h2>").getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static int slotOf(MappedByteBuffer raw, byte[] key) {
+		int base = find(raw, key);
+		assertTrue(base >= 0, "key not found in any slot");
+		return base;
+	}
+
+	// Offset of the slot holding the key, found by its stored key bytes without touching its reference bit
+	private static int find(MappedByteBuffer raw, byte[] key) {
+		for (int slot = 0; slot < SLOTS; slot++) {
+			int base = SharedGreetingCache.HEADER_SIZE + slot * SLOT_SIZE;
+			boolean match = true;
+			for (int i = 0; i < key.length && match; i++) {
+				match = raw.get(base + SharedGreetingCache.DATA + i) == key[i];
+			}
+			if (match) {
+				return base;
+			}
+		}
+		return -1;
+	}
+}
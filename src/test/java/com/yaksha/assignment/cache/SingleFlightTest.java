@@ -0,0 +1,128 @@
+package com.yaksha.assignment.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs a leader whose computation blocks until released, so followers can be
+ * lined up behind it before it finishes.
+ */
+public class SingleFlightTest {
+
+	private static final long WAIT_SECONDS = 5;
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final SingleFlight<String, String> flight = new SingleFlight<>();
+
+	@AfterEach
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testFollowerSharesLeaderResult() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Future<String> leader = lead("key", release, () -> "leader");
+		Future<String> follower = follow("key", WAIT_SECONDS * 1000, () -> "follower");
+		release.countDown();
+
+		assertEquals("leader", leader.get(WAIT_SECONDS, TimeUnit.SECONDS));
+		assertEquals("leader", follower.get(WAIT_SECONDS, TimeUnit.SECONDS));
+		assertEquals(1, flight.getExecutions());
+		assertEquals(1, flight.getCollapsed());
+		assertEquals(0, flight.getInFlight());
+	}
+
+	@Test
+	public void testLeaderFailureReachesLeaderAndFollowerRunsItsOwn() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Future<String> leader = lead("key", release, () -> {
+			throw new IllegalStateException("render failed");
+		});
+		Future<String> follower = follow("key", WAIT_SECONDS * 1000, () -> "follower");
+		release.countDown();
+
+		ExecutionException failure = assertThrows(ExecutionException.class,
+				() -> leader.get(WAIT_SECONDS, TimeUnit.SECONDS));
+		assertTrue(failure.getCause() instanceof IllegalStateException);
+		assertEquals("follower", follower.get(WAIT_SECONDS, TimeUnit.SECONDS));
+		assertEquals(2, flight.getExecutions());
+		assertEquals(0, flight.getCollapsed());
+		assertEquals(0, flight.getInFlight());
+	}
+
+	@Test
+	public void testFollowerStopsWaitingAfterTimeout() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Future<String> leader = lead("key", release, () -> "leader");
+		try {
+			Future<String> follower = follow("key", 50, () -> "follower");
+			assertEquals("follower", follower.get(WAIT_SECONDS, TimeUnit.SECONDS));
+			assertEquals(1, flight.getTimeouts());
+		} finally {
+			release.countDown();
+		}
+		assertEquals("leader", leader.get(WAIT_SECONDS, TimeUnit.SECONDS));
+		assertEquals(2, flight.getExecutions());
+	}
+
+	@Test
+	public void testDifferentKeysDoNotWaitOnEachOther() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Future<String> leader = lead("a", release, () -> "a");
+		try {
+			// Would block until the release if it waited on key "a"
+			assertEquals("b", flight.execute("b", () -> "b", WAIT_SECONDS, TimeUnit.SECONDS));
+			assertEquals(0, flight.getCollapsed());
+			assertEquals(1, flight.getInFlight());
+		} finally {
+			release.countDown();
+		}
+		assertEquals("a", leader.get(WAIT_SECONDS, TimeUnit.SECONDS));
+		assertEquals(2, flight.getExecutions());
+	}
+
+	// Starts a call for the key that holds the flight open until released
+	private Future<String> lead(String key, CountDownLatch release, Callable<String> result)
+			throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		Future<String> leader = executor.submit(() -> flight.execute(key, () -> {
+			started.countDown();
+			release.await();
+			return result.call();
+		}, WAIT_SECONDS, TimeUnit.SECONDS));
+		assertTrue(started.await(WAIT_SECONDS, TimeUnit.SECONDS));
+		return leader;
+	}
+
+	// Starts a call for the key and returns once it is waiting on the leader
+	private Future<String> follow(String key, long timeoutMillis, Callable<String> own)
+			throws InterruptedException {
+		Thread[] thread = new Thread[1];
+		CountDownLatch submitted = new CountDownLatch(1);
+		Future<String> follower = executor.submit(() -> {
+			thread[0] = Thread.currentThread();
+			submitted.countDown();
+			return flight.execute(key, own, timeoutMillis, TimeUnit.MILLISECONDS);
+		});
+		assertTrue(submitted.await(WAIT_SECONDS, TimeUnit.SECONDS));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+		while (thread[0].getState() != Thread.State.TIMED_WAITING && !follower.isDone()) {
+			assertTrue(System.nanoTime() < deadline, "follower never started waiting");
+			Thread.sleep(1);
+		}
+		return follower;
+	}
+}
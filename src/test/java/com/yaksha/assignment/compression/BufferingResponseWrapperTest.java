@@ -0,0 +1,113 @@
+package com.yaksha.assignment.compression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Writes through the wrapper as a view or a non-blocking handler would and
+ * checks what reaches the container's response.
+ */
+public class BufferingResponseWrapperTest {
+
+	@Test
+	public void testCompressibleBodyIsHeldBack() throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		BufferingResponseWrapper wrapper = new BufferingResponseWrapper(response);
+		wrapper.setContentType("text/html;charset=UTF-8");
+		wrapper.getWriter().write("<h2>Hallo Jürgen</h2>");
+		wrapper.setContentLength(22);
+
+		assertTrue(wrapper.isBuffering());
+		assertEquals("<h2>Hallo Jürgen</h2>",
+				new String(wrapper.getBuffer(), 0, wrapper.getBufferLength(), StandardCharsets.UTF_8));
+		assertEquals(0, response.getContentAsByteArray().length);
+		assertNull(response.getHeader("Content-Length"));
+		assertEquals("Accept-Encoding", response.getHeader("Vary"));
+	}
+
+	@Test
+	public void testOtherContentTypesAreWrittenThrough() throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		BufferingResponseWrapper wrapper = new BufferingResponseWrapper(response);
+		wrapper.setContentType("text/event-stream");
+		wrapper.getOutputStream().write(new byte[] { 1, 2, 3 });
+
+		assertFalse(wrapper.isBuffering());
+		assertEquals(3, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	public void testWriteListenerSendsTheBufferAndPassesThrough() throws IOException {
+		ListeningResponse response = new ListeningResponse();
+		BufferingResponseWrapper wrapper = new BufferingResponseWrapper(response);
+		wrapper.setContentType("application/json");
+		ServletOutputStream out = wrapper.getOutputStream();
+		out.write("{\"a\":".getBytes(StandardCharsets.UTF_8));
+
+		WriteListener listener = new WriteListener() {
+
+			@Override
+			public void onWritePossible() {
+			}
+
+			@Override
+			public void onError(Throwable t) {
+			}
+		};
+		out.setWriteListener(listener);
+		out.write("1}".getBytes(StandardCharsets.UTF_8));
+
+		assertFalse(wrapper.isBuffering());
+		assertSame(listener, response.stream.listener);
+		assertEquals("{\"a\":1}", new String(response.stream.bytes.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	private static class ListeningResponse extends HttpServletResponseWrapper {
+
+		private final RecordingStream stream = new RecordingStream();
+
+		ListeningResponse() {
+			super(new MockHttpServletResponse());
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() {
+			return stream;
+		}
+	}
+
+	private static class RecordingStream extends ServletOutputStream {
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		private WriteListener listener;
+
+		@Override
+		public void write(int b) {
+			bytes.write(b);
+		}
+
+		@Override
+		public boolean isReady() {
+			return true;
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			listener = writeListener;
+		}
+	}
+}
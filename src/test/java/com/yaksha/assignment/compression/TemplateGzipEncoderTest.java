@@ -0,0 +1,106 @@
+package com.yaksha.assignment.compression;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Every encoding is read back with {@link GZIPInputStream}, the way a client
+ * that knows nothing about templates would read it.
+ */
+public class TemplateGzipEncoderTest {
+
+	private DeflaterPool pool;
+
+	@BeforeEach
+	public void setUp() {
+		pool = new DeflaterPool(6, 4);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		pool.close();
+	}
+
+	@Test
+	public void testIdenticalBodiesReuseTheWholePrefix() throws IOException {
+		TemplateGzipEncoder encoder = new TemplateGzipEncoder(pool, 8);
+		byte[] body = page(head(40), "Hello Ada");
+
+		byte[] first = roundTrip(encoder, "greet", body);
+		byte[] second = roundTrip(encoder, "greet", body);
+		assertArrayEquals(first, second);
+		assertEquals(2, encoder.getTemplated());
+		assertEquals(0, encoder.getPlain());
+	}
+
+	@Test
+	public void testPrefixShrinksToWhatBodiesShare() throws IOException {
+		TemplateGzipEncoder encoder = new TemplateGzipEncoder(pool, 8);
+		// Longer than the deflate window, so the dictionary is only its tail
+		String head = head(800);
+
+		roundTrip(encoder, "greet", page(head, "Hello Ada"));
+		roundTrip(encoder, "greet", page(head, "Hello Grace"));
+		roundTrip(encoder, "greet", page(head, "Hello Ada"));
+		roundTrip(encoder, "greet", page(head, ""));
+		assertEquals(4, encoder.getTemplated());
+
+		// Nothing in common any more: the key is compressed plainly from now on
+		roundTrip(encoder, "greet", "{\"message\":\"Hello Ada\"}".getBytes(StandardCharsets.UTF_8));
+		roundTrip(encoder, "greet", page(head, "Hello Ada"));
+		assertEquals(4, encoder.getTemplated());
+		assertEquals(2, encoder.getPlain());
+	}
+
+	@Test
+	public void testTemplatesBeyondTheCapAreCompressedPlainly() throws IOException {
+		TemplateGzipEncoder encoder = new TemplateGzipEncoder(pool, 2);
+		for (int i = 0; i < 5; i++) {
+			roundTrip(encoder, "tenant" + i, page(head(10), "Hello " + i));
+		}
+		roundTrip(encoder, null, page(head(10), "Hello"));
+
+		assertEquals(2, encoder.getTemplateCount());
+		assertEquals(2, encoder.getTemplated());
+		assertEquals(4, encoder.getPlain());
+	}
+
+	private static byte[] roundTrip(TemplateGzipEncoder encoder, String template, byte[] body) throws IOException {
+		// Trailing bytes past the length must not be encoded
+		byte[] padded = new byte[body.length + 16];
+		System.arraycopy(body, 0, padded, 0, body.length);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		encoder.encode(template, padded, body.length, out);
+		byte[] encoded = out.toByteArray();
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+			assertArrayEquals(body, StreamUtils.copyToByteArray(in));
+		}
+		assertTrue(encoded.length < body.length + 64);
+		return encoded;
+	}
+
+	private static String head(int links) {
+		StringBuilder head = new StringBuilder("<!DOCTYPE html>\n<html>\n<head>\n");
+		for (int i = 0; i < links; i++) {
+			head.append("    <link rel=\"stylesheet\" href=\"/static/css/style").append(i).append(".css\">\n");
+		}
+		return head.append("</head>\n").toString();
+	}
+
+	private static byte[] page(String head, String message) {
+		return (head + "<body><h2>" + message + "</h2></body>\n</html>\n").getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,40 @@
+package com.yaksha.assignment.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.yaksha.assignment.utils.EmbeddedServer;
+import com.yaksha.assignment.utils.EmbeddedServer.Response;
+
+/**
+ * Asks for the same greeting with the Accept headers a browser and an API
+ * client send, over HTTP, so the handler is chosen the way it is in
+ * production.
+ */
+public class GreetingContentNegotiationTest {
+
+	private static final String GREET = "/greet?name=John&age=25";
+	private static final String MESSAGE = "Hello, John. You are 25 years old!";
+
+	// What Firefox and Chrome send for a navigation
+	private static final String BROWSER_ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,"
+			+ "image/avif,image/webp,image/apng,*/*;q=0.8";
+
+	@Test
+	public void testBrowserGetsTheGreetingPage() throws Exception {
+		try (EmbeddedServer server = EmbeddedServer.start()) {
+			Response response = server.get(GREET, "Accept", BROWSER_ACCEPT);
+			assertEquals(200, response.getStatus());
+			assertTrue(response.getHeaders("Content-Type").get(0).startsWith("text/html"),
+					response.getHeaders("Content-Type").toString());
+			assertTrue(response.getText().contains("<h2>" + MESSAGE + "</h2>"), response.getText());
+
+			Response json = server.get(GREET, "Accept", "application/json");
+			assertEquals(200, json.getStatus());
+			assertTrue(json.getHeaders("Content-Type").get(0).startsWith("application/json"));
+			assertTrue(json.getText().contains("\"message\":\"" + MESSAGE + "\""), json.getText());
+		}
+	}
+}
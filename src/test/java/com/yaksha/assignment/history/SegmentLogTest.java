@@ -0,0 +1,69 @@
+package com.yaksha.assignment.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Uses segments small enough that a few dozen records roll over several of
+ * them.
+ */
+public class SegmentLogTest {
+
+	private Path dir;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("segment-log");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Test
+	public void testTailSpansSegmentsOldestFirst() throws Exception {
+		try (SegmentLog log = new SegmentLog(dir, 256)) {
+			for (int i = 0; i < 50; i++) {
+				log.append("name" + i, i, 1000 + i);
+			}
+			log.publish();
+			assertTrue(log.getSegmentCount() > 3);
+
+			List<GreetingRecord> tail = log.tail(12);
+			assertEquals(12, tail.size());
+			for (int i = 0; i < 12; i++) {
+				assertEquals("name" + (38 + i), tail.get(i).getName());
+				assertEquals(38 + i, tail.get(i).getAge());
+			}
+
+			assertEquals(50, log.tail(100).size());
+		}
+	}
+
+	@Test
+	public void testTailSkipsUnpublishedRecords() throws Exception {
+		try (SegmentLog log = new SegmentLog(dir, 4096)) {
+			log.append("kept", 1, 1000);
+			log.publish();
+			log.append("pending", 2, 1001);
+
+			List<GreetingRecord> tail = log.tail(5);
+			assertEquals(1, tail.size());
+			assertEquals("kept", tail.get(0).getName());
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.yaksha.assignment.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Resolves against the shipped bundles, the way AppConfig sets the resolver
+ * up.
+ */
+public class CachingAcceptHeaderLocaleResolverTest {
+
+	private CachingAcceptHeaderLocaleResolver resolver;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		resolver = new CachingAcceptHeaderLocaleResolver(new GreetingMessages().getSupportedLocales(),
+				Locale.ENGLISH);
+	}
+
+	@Test
+	public void testEnglishIsPreferredOverALaterLanguage() {
+		assertEquals(Locale.ENGLISH, resolve("en-US,en;q=0.9,fr;q=0.8"));
+		assertEquals(Locale.ENGLISH, resolve("en-GB"));
+		assertEquals(Locale.FRENCH, resolve("fr-CA,fr;q=0.9,en;q=0.8"));
+	}
+
+	@Test
+	public void testWeightsAndFallbacks() {
+		assertEquals(Locale.GERMAN, resolve("fr;q=0.5,de;q=0.9"));
+		assertEquals(Locale.GERMAN, resolve("sv,de;q=0.5"));
+		assertEquals(Locale.ENGLISH, resolve("sv"));
+		assertEquals(Locale.ENGLISH, resolve(""));
+		assertEquals(Locale.ENGLISH, resolve(null));
+		assertEquals(Locale.ENGLISH, resolve("en;q=nonsense"));
+	}
+
+	@Test
+	public void testCachedAnswerIsReturnedForTheSameHeader() {
+		assertEquals(new Locale("ja"), resolve("ja-JP,ja;q=0.9"));
+		assertEquals(new Locale("ja"), resolve("ja-JP,ja;q=0.9"));
+	}
+
+	private Locale resolve(String acceptLanguage) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		if (acceptLanguage != null) {
+			request.addHeader("Accept-Language", acceptLanguage);
+		}
+		return resolver.resolveLocale(request);
+	}
+}
@@ -0,0 +1,71 @@
+package com.yaksha.assignment.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Formats through the bundles shipped under src/main/resources/i18n, and
+ * compiles a few patterns by hand for the edge cases.
+ */
+public class GreetingMessagesTest {
+
+	@Test
+	public void testEachBundleUsesItsPluralForms() throws Exception {
+		GreetingMessages messages = new GreetingMessages();
+
+		assertEquals("Hello, Ada. You are 1 year old!", messages.format(Locale.ENGLISH, "Ada", 1));
+		assertEquals("Hello, Ada. You are 36 years old!", messages.format(Locale.ENGLISH, "Ada", 36));
+		assertEquals("Bonjour, Ada. Vous avez 0 an !", messages.format(Locale.FRENCH, "Ada", 0));
+		assertEquals("Привет, Ада. Вам 22 года!", messages.format(new Locale("ru"), "Ада", 22));
+		assertEquals("Привет, Ада. Вам 11 лет!", messages.format(new Locale("ru"), "Ада", 11));
+		assertEquals("Cześć, Ada. Masz 21 lat!", messages.format(new Locale("pl"), "Ada", 21));
+		assertEquals("مرحبا، Ada. عمرك سنتان!", messages.format(new Locale("ar"), "Ada", 2));
+	}
+
+	@Test
+	public void testLookupFallsBackToLanguageThenDefault() throws Exception {
+		GreetingMessages messages = new GreetingMessages();
+
+		assertEquals(Locale.FRENCH, messages.forLocale(Locale.CANADA_FRENCH).getLocale());
+		assertEquals(Locale.ROOT, messages.forLocale(Locale.US).getLocale());
+		assertEquals(Locale.ROOT, messages.forLocale(new Locale("sv")).getLocale());
+		assertSame(messages.forLocale(Locale.CANADA_FRENCH), messages.forLocale(Locale.CANADA_FRENCH));
+
+		assertTrue(messages.getSupportedLocales().contains(Locale.FRENCH));
+		assertFalse(messages.getSupportedLocales().contains(Locale.ROOT));
+	}
+
+	@Test
+	public void testPatternsAreCompiledOnce() {
+		Map<PluralCategory, String> patterns = new EnumMap<>(PluralCategory.class);
+		patterns.put(PluralCategory.ONE, "{name}!");
+		patterns.put(PluralCategory.OTHER, "{age}{age} {name}{name}, {name}");
+		GreetingFormat format = new GreetingFormat(Locale.ENGLISH, PluralRule.ONE_OTHER, patterns);
+
+		assertEquals("Ada!", format.format("Ada", 1));
+		assertEquals("77 AdaAda, Ada", format.format("Ada", 7));
+		// A name that looks like a placeholder is not expanded again
+		assertEquals("{age}!", format.format("{age}", 1));
+	}
+
+	@Test
+	public void testBadPatternsAreRejected() {
+		Map<PluralCategory, String> patterns = new EnumMap<>(PluralCategory.class);
+		patterns.put(PluralCategory.ONE, "Hello, {name}");
+		assertThrows(IllegalArgumentException.class,
+				() -> new GreetingFormat(Locale.ENGLISH, PluralRule.ONE_OTHER, patterns));
+
+		patterns.put(PluralCategory.OTHER, "Hello, {nmae}");
+		assertThrows(IllegalArgumentException.class,
+				() -> new GreetingFormat(Locale.ENGLISH, PluralRule.ONE_OTHER, patterns));
+	}
+}
@@ -0,0 +1,77 @@
+package com.yaksha.assignment.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Spot checks of each rule against the CLDR examples for integer counts.
+ */
+public class PluralRuleTest {
+
+	@Test
+	public void testOneOther() {
+		PluralRule rule = PluralRule.forId("one-other");
+		assertEquals(PluralCategory.ONE, rule.select(1));
+		assertEquals(PluralCategory.OTHER, rule.select(0));
+		assertEquals(PluralCategory.OTHER, rule.select(21));
+	}
+
+	@Test
+	public void testFrenchZeroIsSingular() {
+		PluralRule rule = PluralRule.forId("zero-and-one-other");
+		assertEquals(PluralCategory.ONE, rule.select(0));
+		assertEquals(PluralCategory.ONE, rule.select(1));
+		assertEquals(PluralCategory.OTHER, rule.select(2));
+	}
+
+	@Test
+	public void testEastSlavic() {
+		PluralRule rule = PluralRule.forId("east-slavic");
+		assertEquals(PluralCategory.ONE, rule.select(1));
+		assertEquals(PluralCategory.ONE, rule.select(21));
+		assertEquals(PluralCategory.MANY, rule.select(11));
+		assertEquals(PluralCategory.FEW, rule.select(3));
+		assertEquals(PluralCategory.FEW, rule.select(104));
+		assertEquals(PluralCategory.MANY, rule.select(12));
+		assertEquals(PluralCategory.MANY, rule.select(25));
+		assertEquals(PluralCategory.MANY, rule.select(0));
+	}
+
+	@Test
+	public void testPolishOnlyOneIsSingular() {
+		PluralRule rule = PluralRule.forId("polish");
+		assertEquals(PluralCategory.ONE, rule.select(1));
+		assertEquals(PluralCategory.MANY, rule.select(21));
+		assertEquals(PluralCategory.FEW, rule.select(22));
+		assertEquals(PluralCategory.MANY, rule.select(12));
+		assertEquals(PluralCategory.MANY, rule.select(5));
+	}
+
+	@Test
+	public void testArabic() {
+		PluralRule rule = PluralRule.forId("arabic");
+		assertEquals(PluralCategory.ZERO, rule.select(0));
+		assertEquals(PluralCategory.ONE, rule.select(1));
+		assertEquals(PluralCategory.TWO, rule.select(2));
+		assertEquals(PluralCategory.FEW, rule.select(3));
+		assertEquals(PluralCategory.FEW, rule.select(103));
+		assertEquals(PluralCategory.MANY, rule.select(11));
+		assertEquals(PluralCategory.MANY, rule.select(99));
+		assertEquals(PluralCategory.OTHER, rule.select(100));
+		assertEquals(PluralCategory.OTHER, rule.select(102));
+	}
+
+	@Test
+	public void testNoInflection() {
+		PluralRule rule = PluralRule.forId("other");
+		assertEquals(PluralCategory.OTHER, rule.select(1));
+		assertEquals(PluralCategory.OTHER, rule.select(2));
+	}
+
+	@Test
+	public void testUnknownRuleIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> PluralRule.forId("welsh"));
+	}
+}
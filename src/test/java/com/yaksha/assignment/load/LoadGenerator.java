@@ -0,0 +1,80 @@
+package com.yaksha.assignment.load;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.yaksha.assignment.utils.EmbeddedServer;
+
+/**
+ * Open-model HTTP load generator: requests are scheduled at a constant
+ * arrival rate whether or not earlier ones have completed, and each latency
+ * is measured from the time the request was due rather than the time a
+ * worker got to send it. A slow server therefore shows up as queueing in the
+ * percentiles instead of silently lowering the offered load.
+ */
+public class LoadGenerator {
+
+	private final EmbeddedServer server;
+	private final int workers;
+
+	public LoadGenerator(EmbeddedServer server, int workers) {
+		this.server = server;
+		this.workers = workers;
+	}
+
+	/**
+	 * Sends ratePerSecond requests per second for the given number of seconds,
+	 * cycling through paths, and waits for all of them to complete.
+	 */
+	public LoadReport run(String scenario, String[] paths, int ratePerSecond, int seconds)
+			throws InterruptedException {
+		ExecutorService pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>());
+		Histogram histogram = new ConcurrentHistogram(3);
+		LongAdder errors = new LongAdder();
+		AtomicLong lastCompletion = new AtomicLong();
+
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+		long total = (long) ratePerSecond * seconds;
+		long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+		for (long i = 0; i < total; i++) {
+			long intended = start + i * intervalNanos;
+			long wait;
+			while ((wait = intended - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			String path = paths[(int) (i % paths.length)];
+			pool.execute(() -> {
+				if (!send(path)) {
+					errors.increment();
+				}
+				long completed = System.nanoTime();
+				histogram.recordValue(completed - intended);
+				lastCompletion.accumulateAndGet(completed, Math::max);
+			});
+		}
+		pool.shutdown();
+		if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+			pool.shutdownNow();
+		}
+		return new LoadReport(scenario, ratePerSecond, total, errors.sum(), lastCompletion.get() - start,
+				histogram);
+	}
+
+	private boolean send(String path) {
+		try {
+			return server.get(path).getStatus() == 200;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+}
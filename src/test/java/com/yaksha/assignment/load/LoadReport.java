@@ -0,0 +1,129 @@
+package com.yaksha.assignment.load;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of one {@link LoadGenerator} run.
+ *
+ * Each run writes its full percentile distribution to &lt;scenario&gt;.hgrm and
+ * appends one row to summary.csv in the report directory, so runs before and
+ * after a change can be compared side by side or against a baseline file.
+ */
+public class LoadReport {
+
+	public static final String SUMMARY_FILE = "summary.csv";
+	private static final String SUMMARY_HEADER = "timestamp,scenario,targetRate,requests,errors,throughput,"
+			+ "p50Micros,p90Micros,p99Micros,p999Micros,maxMicros";
+
+	private final String scenario;
+	private final int targetRate;
+	private final long requests;
+	private final long errors;
+	private final long durationNanos;
+	private final Histogram histogram;
+
+	LoadReport(String scenario, int targetRate, long requests, long errors, long durationNanos, Histogram histogram) {
+		this.scenario = scenario;
+		this.targetRate = targetRate;
+		this.requests = requests;
+		this.errors = errors;
+		this.durationNanos = durationNanos;
+		this.histogram = histogram;
+	}
+
+	public String getScenario() {
+		return scenario;
+	}
+
+	public int getTargetRate() {
+		return targetRate;
+	}
+
+	public long getRequests() {
+		return requests;
+	}
+
+	public long getErrors() {
+		return errors;
+	}
+
+	// Completed requests per second over the whole run, including the drain
+	public double getThroughput() {
+		return durationNanos <= 0 ? 0 : histogram.getTotalCount() * 1e9 / durationNanos;
+	}
+
+	public long percentileMicros(double percentile) {
+		return TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(percentile));
+	}
+
+	public long maxMicros() {
+		return TimeUnit.NANOSECONDS.toMicros(histogram.getMaxValue());
+	}
+
+	public void print(PrintStream out) {
+		out.println("Scenario " + scenario + ": " + requests + " requests at " + targetRate + "/s, " + errors
+				+ " errors, " + String.format("%.1f", getThroughput()) + " req/s completed");
+		out.println("Latency p50: " + percentileMicros(50) + " us, p90: " + percentileMicros(90) + " us, p99: "
+				+ percentileMicros(99) + " us, p99.9: " + percentileMicros(99.9) + " us, max: " + maxMicros()
+				+ " us");
+	}
+
+	public void writeTo(File directory) throws IOException {
+		Files.createDirectories(directory.toPath());
+		try (PrintStream out = new PrintStream(new FileOutputStream(new File(directory, scenario + ".hgrm")), false,
+				"UTF-8")) {
+			histogram.outputPercentileDistribution(out, 1000.0);
+		}
+
+		File summary = new File(directory, SUMMARY_FILE);
+		boolean header = !summary.isFile();
+		try (PrintStream out = new PrintStream(new FileOutputStream(summary, true), false, "UTF-8")) {
+			if (header) {
+				out.println(SUMMARY_HEADER);
+			}
+			out.println(System.currentTimeMillis() + "," + scenario + "," + targetRate + "," + requests + ","
+					+ errors + "," + String.format("%.1f", getThroughput()) + "," + percentileMicros(50) + ","
+					+ percentileMicros(90) + "," + percentileMicros(99) + "," + percentileMicros(99.9) + ","
+					+ maxMicros());
+		}
+	}
+
+	/**
+	 * Compares this run with the latest row for the same scenario in a
+	 * summary file and returns a description of any regression beyond the
+	 * tolerance, or null if there is none or no baseline for the scenario.
+	 */
+	public String regressionAgainst(File baselineSummary, double tolerance) throws IOException {
+		String[] baseline = null;
+		List<String> lines = Files.readAllLines(baselineSummary.toPath(), StandardCharsets.UTF_8);
+		for (String line : lines.subList(1, lines.size())) {
+			String[] columns = line.split(",");
+			if (columns[1].equals(scenario)) {
+				baseline = columns;
+			}
+		}
+		if (baseline == null) {
+			return null;
+		}
+
+		double baselineThroughput = Double.parseDouble(baseline[5]);
+		long baselineP99 = Long.parseLong(baseline[8]);
+		if (getThroughput() < baselineThroughput * (1 - tolerance)) {
+			return scenario + " throughput fell from " + baselineThroughput + " to "
+					+ String.format("%.1f", getThroughput()) + " req/s";
+		}
+		if (percentileMicros(99) > baselineP99 * (1 + tolerance)) {
+			return scenario + " p99 rose from " + baselineP99 + " to " + percentileMicros(99) + " us";
+		}
+		return null;
+	}
+}
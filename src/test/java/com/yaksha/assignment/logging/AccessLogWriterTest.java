@@ -0,0 +1,120 @@
+package com.yaksha.assignment.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Publishes entries to a ring and checks the lines the writer thread leaves
+ * in the log file and its rotated copies.
+ */
+public class AccessLogWriterTest {
+
+	private Path dir;
+	private Path file;
+	private AccessLogRing ring;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("access-log");
+		file = dir.resolve("access.log");
+		ring = new AccessLogRing(1024);
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Test
+	public void testFlushWritesEverythingPublished() throws Exception {
+		AccessLogWriter writer = new AccessLogWriter(ring, file, 1 << 20, 2);
+		try {
+			publish(0, 100);
+			assertTrue(writer.flush(5000));
+			assertEquals(paths(0, 100), loggedPaths(file));
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testCloseWritesOutTheRing() throws Exception {
+		AccessLogWriter writer = new AccessLogWriter(ring, file, 1 << 20, 2);
+		publish(0, 500);
+		writer.close();
+		assertEquals(paths(0, 500), loggedPaths(file));
+	}
+
+	@Test
+	public void testFileIsRotatedBySize() throws Exception {
+		AccessLogWriter writer = new AccessLogWriter(ring, file, 2048, 100);
+		publish(0, 200);
+		writer.close();
+
+		// Oldest lines are in the highest numbered file
+		List<String> logged = new ArrayList<>();
+		int rotated = 0;
+		while (Files.exists(dir.resolve("access.log." + (rotated + 1)))) {
+			rotated++;
+		}
+		assertTrue(rotated > 1, "log should have been rotated");
+		for (int i = rotated; i >= 1; i--) {
+			Path older = dir.resolve("access.log." + i);
+			assertTrue(Files.size(older) <= 2048);
+			logged.addAll(loggedPaths(older));
+		}
+		logged.addAll(loggedPaths(file));
+		assertEquals(paths(0, 200), logged);
+	}
+
+	@Test
+	public void testOldestHistoryIsDropped() throws Exception {
+		AccessLogWriter writer = new AccessLogWriter(ring, file, 2048, 2);
+		publish(0, 200);
+		writer.close();
+
+		assertTrue(Files.exists(dir.resolve("access.log.2")));
+		assertTrue(!Files.exists(dir.resolve("access.log.3")));
+		List<String> current = loggedPaths(file);
+		assertEquals("/greet/199", current.get(current.size() - 1));
+	}
+
+	private void publish(int from, int to) {
+		for (int i = from; i < to; i++) {
+			assertTrue(ring.publish(i, "GET", "/greet/" + i, "GreetingController#greetUser", "greeting", 200, 42,
+					1000));
+		}
+	}
+
+	private static List<String> paths(int from, int to) {
+		List<String> paths = new ArrayList<>();
+		for (int i = from; i < to; i++) {
+			paths.add("/greet/" + i);
+		}
+		return paths;
+	}
+
+	private static List<String> loggedPaths(Path log) throws IOException {
+		List<String> paths = new ArrayList<>();
+		for (String line : Files.readAllLines(log, StandardCharsets.UTF_8)) {
+			int start = line.indexOf(" path=") + 6;
+			paths.add(line.substring(start, line.indexOf(' ', start)));
+		}
+		return paths;
+	}
+}
@@ -0,0 +1,86 @@
+package com.yaksha.assignment.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Reuses one wrapper across requests the way the access log filter does on
+ * each request thread.
+ */
+public class CountingResponseWrapperTest {
+
+	@Test
+	public void testBytesAreCountedAndResetPerRequest() throws Exception {
+		MockHttpServletResponse first = new MockHttpServletResponse();
+		first.setCharacterEncoding("UTF-8");
+		CountingResponseWrapper wrapper = new CountingResponseWrapper(first);
+		wrapper.reset(first);
+
+		String text = "Hallo, Jürgen 👋";
+		wrapper.getWriter().write(text);
+		wrapper.getWriter().flush();
+		assertEquals(text.getBytes(StandardCharsets.UTF_8).length, wrapper.getBytes());
+
+		MockHttpServletResponse second = new MockHttpServletResponse();
+		wrapper.reset(second);
+		wrapper.getOutputStream().write(new byte[] { 1, 2, 3 });
+		assertEquals(3, wrapper.getBytes());
+		assertEquals(3, second.getContentAsByteArray().length);
+	}
+
+	@Test
+	public void testWriterErrorDoesNotCarryOverToNextRequest() throws Exception {
+		CountingResponseWrapper wrapper = new CountingResponseWrapper(new MockHttpServletResponse());
+
+		// A client that went away fails the write of this request
+		wrapper.reset(new FailingResponse());
+		PrintWriter writer = wrapper.getWriter();
+		writer.write("Hello");
+		assertTrue(writer.checkError());
+
+		MockHttpServletResponse next = new MockHttpServletResponse();
+		wrapper.reset(next);
+		writer = wrapper.getWriter();
+		writer.write("Hello");
+		assertFalse(writer.checkError(), "the next request on this thread should start without an error");
+		assertEquals("Hello", next.getContentAsString());
+	}
+
+	private static class FailingResponse extends HttpServletResponseWrapper {
+
+		FailingResponse() {
+			super(new MockHttpServletResponse());
+		}
+
+		@Override
+		public PrintWriter getWriter() {
+			return new PrintWriter(new Writer() {
+
+				@Override
+				public void write(char[] cbuf, int off, int len) throws IOException {
+					throw new IOException("Broken pipe");
+				}
+
+				@Override
+				public void flush() throws IOException {
+					throw new IOException("Broken pipe");
+				}
+
+				@Override
+				public void close() {
+				}
+			});
+		}
+	}
+}
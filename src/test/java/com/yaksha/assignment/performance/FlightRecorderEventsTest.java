@@ -0,0 +1,67 @@
+package com.yaksha.assignment.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.yaksha.assignment.utils.EmbeddedServer;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Records /greet requests through the profiling endpoint and checks the dump
+ * holds an event for every stage of the DispatcherServlet pipeline.
+ */
+public class FlightRecorderEventsTest {
+
+	private static final int REQUESTS = 20;
+
+	@Test
+	public void testDumpContainsPipelineEvents() throws Exception {
+		Path file = Files.createTempFile("greet-", ".jfr");
+		System.setProperty("profiling.enabled", "true");
+		try (EmbeddedServer server = EmbeddedServer.start()) {
+			assertEquals(200, server.post("/profiling/start?thresholdMs=0").getStatus());
+			for (int i = 0; i < REQUESTS; i++) {
+				assertEquals(200, server.get("/greet?name=John&age=" + (20 + i)).getStatus());
+			}
+			EmbeddedServer.Response dump = server.post("/profiling/dump");
+			assertEquals(200, dump.getStatus());
+			Files.write(file, dump.getBody());
+			assertEquals(409, server.post("/profiling/dump").getStatus(), "the recording should have ended");
+		} finally {
+			System.clearProperty("profiling.enabled");
+		}
+
+		Map<String, Integer> counts = new HashMap<>();
+		long greetHandlerNanos = 0;
+		for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+			String name = event.getEventType().getName();
+			assertFalse(name.equals("jdk.InitialEnvironmentVariable") || name.equals("jdk.InitialSystemProperty"),
+					"the environment and system properties should not be recorded");
+			if (name.startsWith("com.yaksha.assignment.")) {
+				counts.merge(name.substring("com.yaksha.assignment.".length()), 1, Integer::sum);
+				if (name.endsWith(".Handler") && "GreetingController#greetUser".equals(event.getString("handler"))) {
+					greetHandlerNanos += event.getDuration().toNanos();
+				}
+			}
+		}
+		Files.delete(file);
+
+		System.out.println("testDumpContainsPipelineEvents:");
+		System.out.println("Events by stage: " + counts);
+		System.out.println("Time in greetUser: " + greetHandlerNanos / 1000 + " us over " + REQUESTS + " requests");
+
+		for (String stage : new String[] { "Request", "Binding", "Handler", "ViewResolution", "Render" }) {
+			assertTrue(counts.getOrDefault(stage, 0) >= REQUESTS, stage + " events should be recorded");
+		}
+	}
+}
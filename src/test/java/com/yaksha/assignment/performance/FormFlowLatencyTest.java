@@ -0,0 +1,111 @@
+package com.yaksha.assignment.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.yaksha.assignment.filter.ResourceHintsFilter;
+import com.yaksha.assignment.utils.EmbeddedServer;
+
+/**
+ * Measures the form-to-greeting flow of a returning visitor with and without
+ * resource hints. The simulated browser loads the form, follows any
+ * rel=prefetch Link in the background while the user "types", then submits;
+ * the flow latency is the time spent waiting on both steps. The prefetched
+ * submission reuses a response that was requested moments earlier, so its
+ * figure mostly shows the harness; the numbers are reported, not asserted.
+ */
+@Tag("perf")
+public class FormFlowLatencyTest {
+
+	private static final String GREET = "/greet?name=John&age=25";
+	private static final int WARMUP_FLOWS = 50;
+	private static final int FLOWS = 200;
+	private static final long THINK_MILLIS = 20;
+
+	@Test
+	public void testFlowLatencyWithAndWithoutPrefetch() throws Exception {
+		long[] without;
+		long[] with;
+		try {
+			without = measureFlows(false);
+			with = measureFlows(true);
+		} finally {
+			System.clearProperty("hints.enabled");
+			System.clearProperty("hints.remember-last-greeting");
+		}
+
+		System.out.println("testFlowLatencyWithAndWithoutPrefetch:");
+		System.out.println("Flow latency without hints p50: " + micros(without, 0.50) + " us, p99: "
+				+ micros(without, 0.99) + " us");
+		System.out.println("Flow latency with prefetch p50: " + micros(with, 0.50) + " us, p99: "
+				+ micros(with, 0.99) + " us");
+	}
+
+	private static long[] measureFlows(boolean hints) throws Exception {
+		System.setProperty("hints.enabled", String.valueOf(hints));
+		System.setProperty("hints.remember-last-greeting", String.valueOf(hints));
+		ExecutorService browser = Executors.newSingleThreadExecutor();
+		try (EmbeddedServer server = EmbeddedServer.start()) {
+			// The first visit leaves the cookie a returning visitor sends with the form request
+			String cookie = lastGreetingCookie(server.get(GREET));
+			for (int i = 0; i < WARMUP_FLOWS; i++) {
+				flow(server, browser, cookie);
+			}
+			long[] latencies = new long[FLOWS];
+			for (int i = 0; i < FLOWS; i++) {
+				latencies[i] = flow(server, browser, cookie);
+			}
+			Arrays.sort(latencies);
+			return latencies;
+		} finally {
+			browser.shutdownNow();
+		}
+	}
+
+	private static long flow(EmbeddedServer server, ExecutorService browser, String cookie) throws Exception {
+		long start = System.nanoTime();
+		EmbeddedServer.Response form = cookie == null ? server.get("/") : server.get("/", "Cookie", cookie);
+		long formNanos = System.nanoTime() - start;
+		assertEquals(200, form.getStatus());
+
+		String prefetch = prefetchPath(form);
+		Future<EmbeddedServer.Response> prefetched = prefetch == null ? null
+				: browser.submit(() -> server.get(prefetch, "Sec-Purpose", "prefetch"));
+		Thread.sleep(THINK_MILLIS);
+
+		long submit = System.nanoTime();
+		EmbeddedServer.Response greeting = GREET.equals(prefetch) ? prefetched.get() : server.get(GREET);
+		long submitNanos = System.nanoTime() - submit;
+		assertEquals(200, greeting.getStatus());
+		return formNanos + submitNanos;
+	}
+
+	private static String lastGreetingCookie(EmbeddedServer.Response response) {
+		for (String setCookie : response.getHeaders("Set-Cookie")) {
+			if (setCookie.startsWith(ResourceHintsFilter.LAST_GREETING_COOKIE + "=")) {
+				return setCookie.substring(0, setCookie.indexOf(';'));
+			}
+		}
+		return null;
+	}
+
+	private static String prefetchPath(EmbeddedServer.Response response) {
+		for (String link : response.getHeaders("Link")) {
+			if (link.contains("rel=prefetch")) {
+				return link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+			}
+		}
+		return null;
+	}
+
+	private static long micros(long[] sorted, double percentile) {
+		return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * sorted.length))] / 1000;
+	}
+}
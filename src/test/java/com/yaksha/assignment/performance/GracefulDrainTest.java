@@ -0,0 +1,151 @@
+package com.yaksha.assignment.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+import org.springframework.web.servlet.FrameworkServlet;
+
+import com.yaksha.assignment.utils.EmbeddedServer;
+
+/**
+ * Drains the server while it is under a constant request rate, with an SSE
+ * subscriber attached, and checks that every request either completes or is
+ * turned away with a 503 and that the drain finishes within its deadline.
+ * The drain runs once through /drain and once by stopping the server, which
+ * closes the application context.
+ */
+@Tag("perf")
+public class GracefulDrainTest {
+
+	private static final int RATE_PER_SECOND = 200;
+	private static final long LOAD_MILLIS_BEFORE_DRAIN = 2_000;
+	private static final long LOAD_MILLIS_AFTER_DRAIN = 1_000;
+	private static final long DRAIN_TIMEOUT_MILLIS = 5_000;
+	private static final String DISPATCHER_CONTEXT = FrameworkServlet.SERVLET_CONTEXT_PREFIX + "dispatcher";
+
+	@Test
+	public void testDrainUnderConstantLoad() throws Exception {
+		try (EmbeddedServer server = EmbeddedServer.start(); Load load = new Load(server)) {
+			Thread.sleep(LOAD_MILLIS_BEFORE_DRAIN);
+			EmbeddedServer.Response drain = server.post("/drain?timeoutMs=" + DRAIN_TIMEOUT_MILLIS);
+			int okAtDrain = load.ok.get();
+			Thread.sleep(LOAD_MILLIS_AFTER_DRAIN);
+			load.stop();
+
+			System.out.println("testDrainUnderConstantLoad:");
+			System.out.println("Drain report: " + drain.getText());
+			System.out.println("Completed: " + load.ok.get() + ", rejected while draining: " + load.rejected.get());
+
+			assertEquals(200, drain.getStatus());
+			assertFalse(drain.getText().contains("\"timedOut\":true"), "in-flight requests should finish in time");
+			assertTrue(load.failures.isEmpty(), "requests should complete or get a 503: " + load.failures);
+			assertTrue(okAtDrain > 0 && load.rejected.get() > 0, "load should run on both sides of the drain");
+			assertEquals(503, server.get("/ready").getStatus());
+			assertEquals(200, load.stream.get(1, TimeUnit.SECONDS).getStatus(), "the SSE stream should be closed");
+
+			// Called off: the instance takes requests again
+			assertEquals(200, server.delete("/drain").getStatus());
+			assertEquals(200, server.get("/greet?name=John&age=25").getStatus());
+			assertEquals(409, server.delete("/drain").getStatus());
+		}
+	}
+
+	@Test
+	public void testStopUnderConstantLoad() throws Exception {
+		EmbeddedServer server = EmbeddedServer.start();
+		WebApplicationContext context = WebApplicationContextUtils.getWebApplicationContext(
+				server.getContext().getServletContext(), DISPATCHER_CONTEXT);
+		// The webapp loads its own copy of the application classes, so only JDK types are shared
+		Object drainCoordinator = context.getBean("drainCoordinator");
+		Method getMetrics = drainCoordinator.getClass().getMethod("getMetrics");
+
+		try (Load load = new Load(server)) {
+			Thread.sleep(LOAD_MILLIS_BEFORE_DRAIN);
+			int okAtStop = load.ok.get();
+			long start = System.nanoTime();
+			load.stopping = true;
+			server.close();
+			long stopMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			load.stop();
+
+			Map<?, ?> report = (Map<?, ?>) ((Map<?, ?>) getMetrics.invoke(drainCoordinator)).get("report");
+			System.out.println("testStopUnderConstantLoad:");
+			System.out.println("Drain report: " + report + ", server stopped in " + stopMillis + " ms");
+			System.out.println("Completed: " + load.ok.get() + ", rejected or refused while stopping: "
+					+ (load.rejected.get() + load.refused.get()));
+
+			assertNotNull(report, "closing the context should drain");
+			assertEquals(false, report.get("timedOut"), "in-flight requests should finish in time");
+			assertTrue(load.failures.isEmpty(), "requests should complete or be turned away: " + load.failures);
+			assertTrue(okAtStop > 0, "load should run before the stop");
+			assertTrue(load.stream.isDone(), "the SSE stream should end");
+		}
+	}
+
+	// Requests at a constant rate plus one SSE subscriber, until stopped
+	private static class Load implements AutoCloseable {
+
+		private final ScheduledExecutorService schedule = Executors.newSingleThreadScheduledExecutor();
+		private final ExecutorService clients = Executors.newFixedThreadPool(32);
+		private final AtomicInteger ok = new AtomicInteger();
+		private final AtomicInteger rejected = new AtomicInteger();
+		private final AtomicInteger refused = new AtomicInteger();
+		private final List<String> failures = new CopyOnWriteArrayList<>();
+		private final Future<EmbeddedServer.Response> stream;
+
+		// Once the server is stopping, connections may be refused
+		private volatile boolean stopping;
+
+		Load(EmbeddedServer server) {
+			stream = clients.submit(() -> server.get("/greetings/stream"));
+			schedule.scheduleAtFixedRate(() -> clients.execute(() -> {
+				try {
+					int status = server.get("/greet?name=John&age=25").getStatus();
+					if (status == 200) {
+						ok.incrementAndGet();
+					} else if (status == 503) {
+						rejected.incrementAndGet();
+					} else {
+						failures.add("status " + status);
+					}
+				} catch (IOException e) {
+					if (stopping) {
+						refused.incrementAndGet();
+					} else {
+						failures.add(e.toString());
+					}
+				}
+			}), 0, TimeUnit.SECONDS.toMicros(1) / RATE_PER_SECOND, TimeUnit.MICROSECONDS);
+		}
+
+		void stop() throws InterruptedException {
+			schedule.shutdown();
+			clients.shutdown();
+			assertTrue(clients.awaitTermination(10, TimeUnit.SECONDS));
+		}
+
+		@Override
+		public void close() {
+			schedule.shutdownNow();
+			clients.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package com.yaksha.assignment.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.yaksha.assignment.codec.GreetingEncoder;
+import com.yaksha.assignment.feed.FeedSink;
+import com.yaksha.assignment.feed.GreetingFeed;
+import com.yaksha.assignment.model.Greeting;
+
+/**
+ * Fans greetings out to thousands of simulated SSE subscribers in-process and
+ * reports delivery latency and feed memory per subscriber.
+ */
+public class GreetingFeedFanOutTest {
+
+	private static final int SUBSCRIBERS = 5_000;
+	private static final int EVENTS = 20;
+
+	@Test
+	public void testFanOutLatencyAndMemoryPerSubscriber() throws Exception {
+		GreetingFeed feed = new GreetingFeed(new GreetingEncoder(), 1024, GreetingFeed.SlowConsumerPolicy.SKIP, 15);
+		try {
+			long heapBefore = usedHeap();
+			List<RecordingSink> sinks = new ArrayList<>(SUBSCRIBERS);
+			for (int i = 0; i < SUBSCRIBERS; i++) {
+				RecordingSink sink = new RecordingSink();
+				sinks.add(sink);
+				feed.subscribe(sink, null);
+			}
+			long bytesPerSubscriber = (usedHeap() - heapBefore) / SUBSCRIBERS;
+
+			long[] publishedAt = new long[EVENTS];
+			for (int event = 0; event < EVENTS; event++) {
+				publishedAt[event] = System.nanoTime();
+				feed.publish(new Greeting("John", event, "Hello, John. You are " + event + " years old!"));
+				Thread.sleep(10);
+			}
+			awaitDelivery(sinks);
+
+			long[] latencies = new long[SUBSCRIBERS * EVENTS];
+			int i = 0;
+			for (RecordingSink sink : sinks) {
+				assertEquals(EVENTS, sink.received, "every subscriber should get every greeting");
+				for (int event = 0; event < EVENTS; event++) {
+					latencies[i++] = sink.receivedAt[event] - publishedAt[event];
+				}
+			}
+			Arrays.sort(latencies);
+
+			System.out.println("testFanOutLatencyAndMemoryPerSubscriber:");
+			System.out.println("Subscribers: " + SUBSCRIBERS + ", events: " + EVENTS);
+			System.out.println("Fan-out latency p50: " + micros(latencies, 0.50) + " us, p99: "
+					+ micros(latencies, 0.99) + " us, max: " + latencies[latencies.length - 1] / 1000 + " us");
+			System.out.println("Heap per subscriber (feed state plus test sink): " + bytesPerSubscriber + " bytes");
+		} finally {
+			feed.destroy();
+		}
+	}
+
+	@Test
+	public void testSlowSubscriberIsDroppedWithoutBlockingPublisher() throws Exception {
+		GreetingFeed feed = new GreetingFeed(new GreetingEncoder(), 64, GreetingFeed.SlowConsumerPolicy.DROP, 15);
+		try {
+			RecordingSink stalled = new RecordingSink();
+			stalled.ready = false;
+			GreetingFeed.Subscription slow = feed.subscribe(stalled, null);
+
+			long start = System.nanoTime();
+			for (int event = 0; event < 200; event++) {
+				feed.publish(new Greeting("John", event, "Hello"));
+			}
+			long publishNanos = System.nanoTime() - start;
+			feed.drain(slow);
+
+			assertTrue(stalled.closed, "subscriber that fell a ring behind should be dropped");
+			assertEquals(0, feed.getSubscriberCount());
+			assertTrue(publishNanos < TimeUnit.SECONDS.toNanos(1), "publishing must not wait for subscribers");
+		} finally {
+			feed.destroy();
+		}
+	}
+
+	private static void awaitDelivery(List<RecordingSink> sinks) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		for (RecordingSink sink : sinks) {
+			while (sink.received < EVENTS && System.nanoTime() < deadline) {
+				Thread.sleep(1);
+			}
+		}
+	}
+
+	private static long micros(long[] sorted, double percentile) {
+		return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * sorted.length))] / 1000;
+	}
+
+	private static long usedHeap() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static class RecordingSink implements FeedSink {
+
+		private final long[] receivedAt = new long[EVENTS];
+		private volatile int received;
+		private volatile boolean ready = true;
+		private volatile boolean closed;
+
+		@Override
+		public boolean isReady() {
+			return ready;
+		}
+
+		@Override
+		public void write(byte[] frame) {
+			if (frame[0] == ':') {
+				return; // keepalive
+			}
+			if (received < EVENTS) {
+				receivedAt[received] = System.nanoTime();
+			}
+			received++;
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.yaksha.assignment.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.yaksha.assignment.load.LoadGenerator;
+import com.yaksha.assignment.load.LoadReport;
+import com.yaksha.assignment.utils.EmbeddedServer;
+
+/**
+ * Drives / and /greet over HTTP at a constant arrival rate and writes latency
+ * reports to target/load-reports.
+ *
+ * Rate, duration and workers can be raised with -Dload.rate, -Dload.seconds
+ * and -Dload.workers. Pointing -Dload.baseline at the summary.csv of an
+ * earlier run fails the test if throughput or p99 regressed by more than
+ * -Dload.tolerance (default 0.2).
+ */
+@Tag("perf")
+public class GreetingLoadTest {
+
+	private static final File REPORT_DIR = new File("target/load-reports");
+	private static final String[] NAMES = { "Alice", "Bob", "Chandra", "Dmitri", "Fatima", "Gustav", "Hiroshi",
+			"Ines" };
+
+	private static final int RATE = Integer.getInteger("load.rate", 200);
+	private static final int SECONDS = Integer.getInteger("load.seconds", 10);
+	private static final int WORKERS = Integer.getInteger("load.workers", 32);
+
+	private static EmbeddedServer server;
+
+	@BeforeAll
+	public static void startServer() throws Exception {
+		server = EmbeddedServer.isPrecompiled() ? EmbeddedServer.startPrecompiled() : EmbeddedServer.start();
+		// Let JSP compilation and the in-process warm-up finish before measuring
+		new LoadGenerator(server, WORKERS).run("warmup", greetPaths(), RATE, 2);
+	}
+
+	@AfterAll
+	public static void stopServer() throws Exception {
+		server.close();
+	}
+
+	@Test
+	public void testFormAtConstantArrivalRate() throws Exception {
+		runScenario("form", new String[] { "/" });
+	}
+
+	@Test
+	public void testGreetAtConstantArrivalRate() throws Exception {
+		runScenario("greet", greetPaths());
+	}
+
+	private static void runScenario(String scenario, String[] paths) throws Exception {
+		LoadReport report = new LoadGenerator(server, WORKERS).run(scenario, paths, RATE, SECONDS);
+		report.print(System.out);
+		report.writeTo(REPORT_DIR);
+
+		assertEquals(0, report.getErrors(), "every request should succeed");
+		assertTrue(report.getThroughput() >= RATE * 0.9, "server should keep up with the offered load");
+
+		String baseline = System.getProperty("load.baseline");
+		if (baseline != null) {
+			double tolerance = Double.parseDouble(System.getProperty("load.tolerance", "0.2"));
+			assertNull(report.regressionAgainst(new File(baseline), tolerance));
+		}
+	}
+
+	private static String[] greetPaths() {
+		String[] paths = new String[NAMES.length * 10];
+		for (int i = 0; i < paths.length; i++) {
+			paths[i] = "/greet?name=" + NAMES[i % NAMES.length] + "&age=" + (20 + i / NAMES.length);
+		}
+		return paths;
+	}
+}
@@ -0,0 +1,63 @@
+package com.yaksha.assignment.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import javax.servlet.Servlet;
+
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.core.StandardWrapper;
+import org.junit.jupiter.api.Test;
+
+import com.yaksha.assignment.utils.EmbeddedServer;
+
+/**
+ * Checks that the first /greet request after a cold start is served by the
+ * servlet jspc precompiled for greeting.jsp rather than by Jasper, and
+ * reports the first request latency with and without precompilation.
+ */
+public class JspColdStartTest {
+
+	private static final String GREET = "/greet?name=John&age=25";
+	private static final String GREETING_SERVLET = "jsp.WEB_002dINF.views.greeting_jsp";
+
+	@Test
+	public void testFirstRequestIsServedByPrecompiledJsp() throws Exception {
+		assumeTrue(EmbeddedServer.isPrecompiled(), "run through Maven so jspc has generated target/web.xml");
+
+		long runtimeCompiled;
+		try (EmbeddedServer server = EmbeddedServer.start()) {
+			assertNull(server.getContext().findChild(GREETING_SERVLET));
+			runtimeCompiled = firstRequestNanos(server);
+		}
+
+		long precompiled;
+		try (EmbeddedServer server = EmbeddedServer.startPrecompiled()) {
+			Wrapper wrapper = (Wrapper) server.getContext().findChild(GREETING_SERVLET);
+			assertNotNull(wrapper, "jspc should have mapped greeting.jsp to its precompiled servlet");
+			precompiled = firstRequestNanos(server);
+
+			// Loaded on the first forward to greeting.jsp, from target/classes
+			Servlet servlet = ((StandardWrapper) wrapper).getServlet();
+			assertNotNull(servlet, "the precompiled servlet should serve /greet");
+			assertEquals(GREETING_SERVLET, servlet.getClass().getName());
+		}
+
+		System.out.println("testFirstRequestIsServedByPrecompiledJsp:");
+		System.out.println("First /greet with runtime compilation: " + runtimeCompiled / 1_000_000 + " ms");
+		System.out.println("First /greet with precompiled JSPs: " + precompiled / 1_000_000 + " ms");
+	}
+
+	private static long firstRequestNanos(EmbeddedServer server) throws Exception {
+		long start = System.nanoTime();
+		EmbeddedServer.Response response = server.get(GREET);
+		long elapsed = System.nanoTime() - start;
+
+		assertEquals(200, response.getStatus());
+		assertTrue(response.getText().contains("Hello, John. You are 25 years old!"));
+		return elapsed;
+	}
+}
@@ -0,0 +1,136 @@
+package com.yaksha.assignment.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.yaksha.assignment.utils.ProjectModel;
+
+/**
+ * Loads a generated project with many controllers and views into a
+ * {@link ProjectModel} on pools of increasing parallelism and reports how
+ * parse time scales with cores.
+ */
+@Tag("perf")
+public class ProjectModelScalingTest {
+
+	private static final int CONTROLLERS = 1_500;
+	private static final int VIEWS = 500;
+	private static final int RUNS = 3;
+
+	@Test
+	public void testParseTimeScalingAcrossCores() throws Exception {
+		Path project = Files.createTempDirectory("yaksha-project");
+		try {
+			generate(project);
+			int cores = Runtime.getRuntime().availableProcessors();
+			List<Integer> levels = new ArrayList<>();
+			for (int parallelism = 1; parallelism < cores; parallelism *= 2) {
+				levels.add(parallelism);
+			}
+			levels.add(cores);
+
+			// Warm up the parsers before timing
+			load(project, cores);
+
+			System.out.println("testParseTimeScalingAcrossCores:");
+			System.out.println("Files: " + CONTROLLERS + " controllers, " + VIEWS + " views, cores: " + cores);
+			long sequential = 0;
+			for (int parallelism : levels) {
+				long best = Long.MAX_VALUE;
+				for (int run = 0; run < RUNS; run++) {
+					ProjectModel model = load(project, parallelism);
+					assertEquals(CONTROLLERS, model.getJavaSourceCount());
+					assertEquals(VIEWS, model.getJspViewCount());
+					best = Math.min(best, model.getLoadNanos());
+				}
+				if (parallelism == 1) {
+					sequential = best;
+				}
+				System.out.println("Parallelism " + parallelism + ": " + best / 1_000_000 + " ms, speedup "
+						+ String.format("%.2f", (double) sequential / best) + "x");
+			}
+
+			ProjectModel model = load(project, cores);
+			Path controller = model.resolve(ProjectModel.SOURCES_DIR + "/java/com/example/Controller42.java");
+			assertTrue(model.getCompilationUnit(controller).isPresent(), "every generated class should parse");
+			Path view = model.resolve(ProjectModel.SOURCES_DIR + "/webapp/WEB-INF/views/view42.jsp");
+			assertEquals(1, model.getJspDocument(view).select("form").size());
+		} finally {
+			delete(project);
+		}
+	}
+
+	private static ProjectModel load(Path project, int parallelism) throws IOException {
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return ProjectModel.load(project, pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private static void generate(Path project) throws IOException {
+		Path java = Files.createDirectories(project.resolve(ProjectModel.SOURCES_DIR + "/java/com/example"));
+		for (int i = 0; i < CONTROLLERS; i++) {
+			String source = "package com.example;\n\n"
+					+ "import org.springframework.beans.factory.annotation.Autowired;\n"
+					+ "import org.springframework.stereotype.Controller;\n"
+					+ "import org.springframework.ui.Model;\n"
+					+ "import org.springframework.web.bind.annotation.GetMapping;\n"
+					+ "import org.springframework.web.bind.annotation.RequestParam;\n\n"
+					+ "@Controller\n"
+					+ "public class Controller" + i + " {\n\n"
+					+ "\t@Autowired\n"
+					+ "\tprivate Service" + i + " service;\n\n"
+					+ "\t@GetMapping(\"/show" + i + "\")\n"
+					+ "\tpublic String show(Model model) {\n"
+					+ "\t\treturn \"view" + i % VIEWS + "\";\n"
+					+ "\t}\n\n"
+					+ "\t@GetMapping(\"/greet" + i + "\")\n"
+					+ "\tpublic String greet(@RequestParam String name, @RequestParam int age, Model model) {\n"
+					+ "\t\tString message = \"Hello, \" + name + \". You are \" + age + \" years old!\";\n"
+					+ "\t\tif (age < 0 || age > 150) {\n"
+					+ "\t\t\tmessage = service.reject(name, age);\n"
+					+ "\t\t}\n"
+					+ "\t\tmodel.addAttribute(\"greetingMessage\", message);\n"
+					+ "\t\treturn \"greeting\";\n"
+					+ "\t}\n"
+					+ "}\n";
+			Files.write(java.resolve("Controller" + i + ".java"), source.getBytes(StandardCharsets.UTF_8));
+		}
+
+		Path views = Files.createDirectories(project.resolve(ProjectModel.SOURCES_DIR + "/webapp/WEB-INF/views"));
+		for (int i = 0; i < VIEWS; i++) {
+			String view = "<%@ page contentType=\"text/html;charset=UTF-8\" language=\"java\" %>\n"
+					+ "<%@ taglib prefix=\"c\" uri=\"http://java.sun.com/jsp/jstl/core\" %>\n"
+					+ "<!DOCTYPE html>\n<html>\n<head>\n<title>View " + i + "</title>\n</head>\n<body>\n"
+					+ "\t<h2>${greetingMessage}</h2>\n"
+					+ "\t<form action=\"greet" + i + "\" method=\"get\">\n"
+					+ "\t\t<label for=\"name\">Name:</label> <input type=\"text\" id=\"name\" name=\"name\">\n"
+					+ "\t\t<label for=\"age\">Age:</label> <input type=\"number\" id=\"age\" name=\"age\">\n"
+					+ "\t\t<c:if test=\"${not empty greetingMessage}\"><p>${greetingMessage}</p></c:if>\n"
+					+ "\t\t<input type=\"submit\" value=\"Greet\">\n"
+					+ "\t</form>\n</body>\n</html>\n";
+			Files.write(views.resolve("view" + i + ".jsp"), view.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private static void delete(Path project) throws IOException {
+		try (Stream<Path> walk = Files.walk(project)) {
+			walk.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package com.yaksha.assignment.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+import com.yaksha.assignment.utils.ResultSpool;
+
+/**
+ * Runs the result spool against a local fake results endpoint that adds
+ * latency and fails requests, checking that every result arrives once, in
+ * order, including results left unsent by a previous run. The check that
+ * appends do not wait on the endpoint is timing based and in the perf group.
+ */
+public class ResultSpoolTest {
+
+	private static final int RESULTS = 40;
+	private static final long LATENCY_MILLIS = 50;
+
+	@Test
+	public void testEveryResultArrivesOnceInOrder() throws Exception {
+		File file = Files.createTempFile("results", ".spool").toFile();
+		// Every third request fails with a 503
+		FakeEndpoint endpoint = new FakeEndpoint(0, 3);
+		try {
+			ResultSpool spool = ResultSpool.open(file, endpoint.url());
+			for (int i = 0; i < RESULTS; i++) {
+				spool.append(payload(i));
+			}
+			spool.close(30_000);
+
+			assertTrue(spool.getRetries() > 0, "failed requests should be retried");
+			assertEquals(0, spool.getPending());
+			assertEquals(expected(0, RESULTS), endpoint.received());
+			assertEquals(8, file.length(), "a fully sent spool should be truncated to its header");
+		} finally {
+			endpoint.stop();
+			file.delete();
+		}
+	}
+
+	@Test
+	@Tag("perf")
+	public void testAppendsDoNotWaitOnSlowFailingEndpoint() throws Exception {
+		File file = Files.createTempFile("results", ".spool").toFile();
+		FakeEndpoint endpoint = new FakeEndpoint(LATENCY_MILLIS, 3);
+		try {
+			ResultSpool spool = ResultSpool.open(file, endpoint.url());
+			long start = System.nanoTime();
+			for (int i = 0; i < RESULTS; i++) {
+				spool.append(payload(i));
+			}
+			long appendMicros = (System.nanoTime() - start) / 1000 / RESULTS;
+			spool.close(30_000);
+
+			System.out.println("testAppendsDoNotWaitOnSlowFailingEndpoint:");
+			System.out.println("Append: " + appendMicros + " us/result, endpoint latency: " + LATENCY_MILLIS + " ms");
+			System.out.println("Sent: " + spool.getSent() + ", retries: " + spool.getRetries());
+
+			assertTrue(appendMicros < LATENCY_MILLIS * 1000, "appending should not wait on the endpoint");
+			assertEquals(0, spool.getPending());
+		} finally {
+			endpoint.stop();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testUnsentResultsAreResumedOnNextRun() throws Exception {
+		File file = Files.createTempFile("results", ".spool").toFile();
+		// The endpoint is down for the whole first run
+		FakeEndpoint down = new FakeEndpoint(0, 1);
+		FakeEndpoint up = new FakeEndpoint(LATENCY_MILLIS, 0);
+		try {
+			ResultSpool first = ResultSpool.open(file, down.url());
+			for (int i = 0; i < RESULTS; i++) {
+				first.append(payload(i));
+			}
+			first.close(500);
+			assertEquals(RESULTS, first.getPending());
+			assertEquals(0, first.getSent());
+
+			// A crash mid-append leaves a torn record behind
+			try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+				raf.seek(raf.length());
+				raf.writeInt(1024);
+				raf.write(new byte[] { 1, 2, 3 });
+			}
+
+			ResultSpool second = ResultSpool.open(file, up.url());
+			assertEquals(RESULTS, second.getReplayed());
+			second.append(payload(RESULTS));
+			second.close(30_000);
+
+			System.out.println("testUnsentResultsAreResumedOnNextRun:");
+			System.out.println("Replayed: " + second.getReplayed() + ", sent: " + second.getSent());
+
+			assertEquals(0, second.getPending());
+			assertEquals(expected(0, RESULTS + 1), up.received());
+		} finally {
+			down.stop();
+			up.stop();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testSecondSpoolOnTheSameFileIsRefused() throws Exception {
+		File file = Files.createTempFile("results", ".spool").toFile();
+		FakeEndpoint endpoint = new FakeEndpoint(0, 0);
+		try {
+			ResultSpool spool = ResultSpool.open(file, endpoint.url());
+			assertThrows(IOException.class, () -> ResultSpool.open(file, endpoint.url()));
+			spool.append(payload(0));
+			assertTrue(spool.flush(30_000));
+			spool.close();
+
+			// Free again once the first run is done with it
+			ResultSpool.open(file, endpoint.url()).close();
+			assertEquals(expected(0, 1), endpoint.received());
+		} finally {
+			endpoint.stop();
+			file.delete();
+		}
+	}
+
+	private static byte[] payload(int i) {
+		return ("{\"testCaseResults\":\"" + i + "\"}").getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static List<String> expected(int from, int to) {
+		List<String> expected = new ArrayList<>();
+		for (int i = from; i < to; i++) {
+			expected.add(new String(payload(i), StandardCharsets.UTF_8));
+		}
+		return expected;
+	}
+
+	// Answers after a delay, failing every failEvery-th request (every request for 1, none for 0)
+	private static class FakeEndpoint {
+
+		private final HttpServer server;
+		private final ExecutorService executor = Executors.newCachedThreadPool();
+		private final List<String> received = new ArrayList<>();
+		private final AtomicInteger requests = new AtomicInteger();
+
+		FakeEndpoint(long latencyMillis, int failEvery) throws IOException {
+			server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.createContext("/push", exchange -> {
+				byte[] body = readAll(exchange.getRequestBody());
+				try {
+					Thread.sleep(latencyMillis);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				int request = requests.incrementAndGet();
+				boolean fail = failEvery > 0 && request % failEvery == 0;
+				if (!fail) {
+					synchronized (received) {
+						received.add(new String(body, StandardCharsets.UTF_8));
+					}
+				}
+				exchange.sendResponseHeaders(fail ? 503 : 200, -1);
+				exchange.close();
+			});
+			server.setExecutor(executor);
+			server.start();
+		}
+
+		String url() {
+			return "http://localhost:" + server.getAddress().getPort() + "/push";
+		}
+
+		List<String> received() {
+			synchronized (received) {
+				return new ArrayList<>(received);
+			}
+		}
+
+		void stop() {
+			server.stop(0);
+			executor.shutdownNow();
+		}
+
+		private static byte[] readAll(InputStream in) throws IOException {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[512];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.yaksha.assignment.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.yaksha.assignment.history.SegmentLog;
+
+/**
+ * Measures append throughput of the greeting history log with group commit
+ * and checks that rolled segments are recovered, scanned and compacted.
+ */
+public class SegmentLogThroughputTest {
+
+	private static final int RECORDS = 500_000;
+	private static final int BATCH = 1_000;
+	private static final int SEGMENT_BYTES = 1 << 20;
+
+	@Test
+	public void testAppendThroughputAndRecovery() throws Exception {
+		Path dir = Files.createTempDirectory("greeting-history");
+
+		long start = System.nanoTime();
+		try (SegmentLog log = new SegmentLog(dir, SEGMENT_BYTES)) {
+			for (int i = 0; i < RECORDS; i++) {
+				log.append("name-" + (i % 1000), i % 120, i);
+				if ((i + 1) % BATCH == 0) {
+					log.publish();
+					log.sync();
+				}
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+
+		System.out.println("testAppendThroughputAndRecovery:");
+		System.out.println("Records per second: " + RECORDS * 1_000_000_000L / elapsed);
+
+		try (SegmentLog reopened = new SegmentLog(dir, SEGMENT_BYTES)) {
+			assertTrue(reopened.getSegmentCount() > 1, "log should have rolled into several segments");
+
+			AtomicLong count = new AtomicLong();
+			AtomicLong previous = new AtomicLong(-1);
+			reopened.scan(record -> {
+				assertTrue(record.getTimestamp() > previous.getAndSet(record.getTimestamp()));
+				count.incrementAndGet();
+				return true;
+			});
+			assertEquals(RECORDS, count.get());
+
+			long removed = reopened.compact(RECORDS / 2);
+			AtomicLong remaining = new AtomicLong();
+			reopened.scan(record -> {
+				remaining.incrementAndGet();
+				return true;
+			});
+			assertEquals(RECORDS, removed + remaining.get());
+			assertTrue(removed > 0 && removed <= RECORDS / 2);
+		}
+	}
+}
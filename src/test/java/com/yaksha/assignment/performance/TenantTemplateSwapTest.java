@@ -0,0 +1,74 @@
+package com.yaksha.assignment.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.yaksha.assignment.template.TenantResolver;
+import com.yaksha.assignment.utils.EmbeddedServer;
+
+/**
+ * Serves two brands off one server, edits one brand's greeting template
+ * while it runs and reports how long the new version takes to go live.
+ */
+@Tag("perf")
+public class TenantTemplateSwapTest {
+
+	private static final String GREET = "/greet?name=John&age=25";
+	private static final long SWAP_TIMEOUT_MILLIS = 10_000;
+
+	@Test
+	public void testTemplatesAreHotSwappedPerTenant() throws Exception {
+		Path dir = Files.createTempDirectory("tenant-templates");
+		write(dir.resolve("brand-a.jsp"), "<%@ page contentType=\"text/html;charset=UTF-8\" %>\n"
+				+ "<html><body class=\"brand-a v1\"><h2>${greetingMessage}</h2></body></html>\n");
+		System.setProperty("tenant.templates-dir", dir.toString());
+		try (EmbeddedServer server = EmbeddedServer.start()) {
+			String brandA = server.get(GREET, TenantResolver.TENANT_HEADER, "brand-a").getText();
+			assertTrue(brandA.contains("brand-a v1") && brandA.contains("Hello, John. You are 25 years old!"));
+			// A tenant without a template gets greeting.jsp
+			String other = server.get(GREET, TenantResolver.TENANT_HEADER, "brand-b").getText();
+			assertTrue(other.contains("<h2>Hello, John. You are 25 years old!</h2>") && !other.contains("brand-a"));
+
+			long start = System.nanoTime();
+			write(dir.resolve("brand-a.jsp"),
+					"<html><body class=\"brand-a v2\"><h2>${greetingMessage}</h2></body></html>\n");
+			long swapMillis = awaitBody(server, "brand-a", "brand-a v2", start);
+
+			write(dir.resolve("brand-b.html"),
+					"<html><body class=\"brand-b\"><p>${greetingMessage}</p></body></html>\n");
+			long addMillis = awaitBody(server, "brand-b", "class=\"brand-b\"", System.nanoTime());
+
+			System.out.println("testTemplatesAreHotSwappedPerTenant:");
+			System.out.println("Changed template live after " + swapMillis + " ms, new tenant after " + addMillis
+					+ " ms");
+
+			assertEquals(200, server.get(GREET, TenantResolver.TENANT_HEADER, "brand-a").getStatus());
+		} finally {
+			System.clearProperty("tenant.templates-dir");
+			try (Stream<Path> files = Files.walk(dir)) {
+				files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+			}
+		}
+	}
+
+	private static long awaitBody(EmbeddedServer server, String tenant, String marker, long start) throws Exception {
+		while (!server.get(GREET, TenantResolver.TENANT_HEADER, tenant).getText().contains(marker)) {
+			assertTrue(System.nanoTime() - start < SWAP_TIMEOUT_MILLIS * 1_000_000, "template was not swapped in");
+			Thread.sleep(5);
+		}
+		return (System.nanoTime() - start) / 1_000_000;
+	}
+
+	private static void write(Path file, String content) throws Exception {
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,122 @@
+package com.yaksha.assignment.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Changes files in a throwaway template directory and reloads them by hand,
+ * without the watcher thread, so every step is deterministic.
+ */
+public class GreetingTemplateRegistryTest {
+
+	private static final String V1 = "<html><body class=\"v1\"><h2>${greetingMessage}</h2></body></html>";
+	private static final String V2 = "<html><body class=\"v2\"><h2>${greetingMessage}</h2></body></html>";
+	private static final String HTML = "<html><body class=\"html\"><p>${greetingMessage}</p></body></html>";
+
+	private Path dir;
+	private GreetingTemplateRegistry registry;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("tenant-templates");
+		registry = new GreetingTemplateRegistry();
+		ReflectionTestUtils.setField(registry, "directory", dir);
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Test
+	public void testTemplatesAreSwappedAndRemoved() throws IOException {
+		Path file = write("brand-a.jsp", V1);
+		registry.reloadAll();
+		assertEquals(version(V1), registry.forTenant("brand-a").getVersion());
+		assertNull(registry.forTenant("brand-b"));
+
+		write("brand-a.jsp", V2);
+		registry.reload(file);
+		assertEquals(version(V2), registry.forTenant("brand-a").getVersion());
+
+		Files.delete(file);
+		registry.reload(file);
+		assertNull(registry.forTenant("brand-a"));
+	}
+
+	@Test
+	public void testFailedCompileKeepsThePreviousTemplate() throws IOException {
+		Path file = write("brand-a.jsp", V1);
+		registry.reload(file);
+
+		write("brand-a.jsp", "<p>${param.name}</p>");
+		registry.reload(file);
+		assertEquals(version(V1), registry.forTenant("brand-a").getVersion());
+
+		// A file caught halfway through being written is empty
+		write("brand-a.jsp", "");
+		registry.reload(file);
+		assertEquals(version(V1), registry.forTenant("brand-a").getVersion());
+		assertEquals(1L, registry.getMetrics().get("compileErrors"));
+	}
+
+	@Test
+	public void testJspWinsOverHtmlAndDeletingEitherKeepsTheOther() throws IOException {
+		Path html = write("brand-a.html", HTML);
+		registry.reload(html);
+		assertEquals(version(HTML), registry.forTenant("brand-a").getVersion());
+
+		Path jsp = write("brand-a.jsp", V1);
+		registry.reload(jsp);
+		assertEquals(version(V1), registry.forTenant("brand-a").getVersion());
+		registry.reloadAll();
+		assertEquals(version(V1), registry.forTenant("brand-a").getVersion());
+
+		// A change to the file not in use does not displace the one that is
+		write("brand-a.html", V2);
+		registry.reload(html);
+		assertEquals(version(V1), registry.forTenant("brand-a").getVersion());
+
+		Files.delete(jsp);
+		registry.reload(jsp);
+		assertEquals(version(V2), registry.forTenant("brand-a").getVersion());
+
+		write("brand-a.jsp", V1);
+		registry.reload(jsp);
+		Files.delete(html);
+		registry.reload(html);
+		assertEquals(version(V1), registry.forTenant("brand-a").getVersion());
+	}
+
+	@Test
+	public void testOtherFilesAreIgnored() throws IOException {
+		Path swap = write(".brand-a.jsp.swp", V1);
+		Path text = write("brand-a.txt", V1);
+		registry.reload(swap);
+		registry.reload(text);
+		registry.reloadAll();
+		assertNull(registry.forTenant("brand-a"));
+	}
+
+	private Path write(String name, String content) throws IOException {
+		return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static long version(String source) {
+		return GreetingTemplate.compile("brand-a", source).getVersion();
+	}
+}
@@ -0,0 +1,41 @@
+package com.yaksha.assignment.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Compiles template sources directly and renders them into mock responses.
+ */
+public class GreetingTemplateTest {
+
+	@Test
+	public void testSlotsAreEscapedAndDirectivesDropped() throws Exception {
+		GreetingTemplate template = GreetingTemplate.compile("brand-a",
+				"<%@ page contentType=\"text/html;charset=UTF-8\" %>\n<h2>${ greetingMessage }</h2>");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		template.render(Collections.singletonMap("greetingMessage", "<b>Jürgen</b>"), new MockHttpServletRequest(),
+				response);
+
+		assertEquals("<h2>&lt;b&gt;Jürgen&lt;/b&gt;</h2>",
+				new String(response.getContentAsByteArray(), StandardCharsets.UTF_8));
+		assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+	}
+
+	@Test
+	public void testAnythingJspWouldEvaluateIsRejected() {
+		String[] sources = { "<p>${param.name}</p>", "<p>${fn:escapeXml(greetingMessage)}</p>",
+				"<fmt:message key=\"greeting\"/>", "<spring:message code=\"greeting\"/>",
+				"<%@ include file=\"footer.jsp\" %>", "<p><%= request.getParameter(\"name\") %></p>",
+				"<p>#{greetingMessage}</p>", "<p>${greetingMessage</p>" };
+		for (String source : sources) {
+			assertThrows(IllegalArgumentException.class, () -> GreetingTemplate.compile("brand-a", source), source);
+		}
+	}
+}
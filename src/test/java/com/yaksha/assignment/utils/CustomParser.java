@@ -1,12 +1,11 @@
 package com.yaksha.assignment.utils;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
 import java.util.Optional;
 
 import org.jsoup.Jsoup;
@@ -19,6 +18,14 @@ import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 
+/**
+ * Source and view checks for the project under test.
+ *
+ * Checks read files from the shared {@link ProjectModel}, a snapshot taken
+ * by the first check that runs in this JVM. A file changed on disk after
+ * that check will not be seen by later checks in the same JVM; run them in a
+ * new JVM to check edited sources.
+ */
 public class CustomParser {
 
 	/**
@@ -33,24 +40,12 @@ public class CustomParser {
 	public static boolean checkClassAnnotation(String filePath, String classAnnotation) throws IOException {
 		System.out.println("Checking class-level annotation in file: " + filePath);
 
-		// Load class content
-		String classContent = loadClassContent(filePath);
-		if (classContent == null) {
-			System.out.println("Error: Failed to load class content from file: " + filePath);
+		// Look up the parsed class in the project model
+		CompilationUnit compilationUnit = loadCompilationUnit(filePath);
+		if (compilationUnit == null) {
 			return false;
 		}
 
-		// Parse the class content using JavaParser
-		JavaParser javaParser = new JavaParser();
-		Optional<CompilationUnit> optionalCompilationUnit = javaParser.parse(classContent).getResult();
-
-		if (optionalCompilationUnit.isEmpty()) {
-			System.out.println("Error: Failed to parse the class content from file: " + filePath);
-			return false;
-		}
-
-		CompilationUnit compilationUnit = optionalCompilationUnit.get();
-
 		// Check if the class contains the required annotation
 		Optional<ClassOrInterfaceDeclaration> classDeclaration = compilationUnit.getClassByName(getClassName(filePath));
 
@@ -83,24 +78,12 @@ public class CustomParser {
 	public static boolean checkMethodAnnotation(String filePath, String methodAnnotation) throws IOException {
 		System.out.println("Checking method-level annotation in file: " + filePath);
 
-		// Load class content
-		String classContent = loadClassContent(filePath);
-		if (classContent == null) {
-			System.out.println("Error: Failed to load class content from file: " + filePath);
-			return false;
-		}
-
-		// Parse the class content using JavaParser
-		JavaParser javaParser = new JavaParser();
-		Optional<CompilationUnit> optionalCompilationUnit = javaParser.parse(classContent).getResult();
-
-		if (optionalCompilationUnit.isEmpty()) {
-			System.out.println("Error: Failed to parse the class content from file: " + filePath);
+		// Look up the parsed class in the project model
+		CompilationUnit compilationUnit = loadCompilationUnit(filePath);
+		if (compilationUnit == null) {
 			return false;
 		}
 
-		CompilationUnit compilationUnit = optionalCompilationUnit.get();
-
 		// Check if any method contains the required annotation
 		Optional<ClassOrInterfaceDeclaration> classDeclaration = compilationUnit.getClassByName(getClassName(filePath));
 
@@ -133,24 +116,12 @@ public class CustomParser {
 	public static boolean checkConstructorAnnotation(String filePath, String constructorAnnotation) throws IOException {
 		System.out.println("Checking constructor-level annotation in file: " + filePath);
 
-		// Load class content
-		String classContent = loadClassContent(filePath);
-		if (classContent == null) {
-			System.out.println("Error: Failed to load class content from file: " + filePath);
-			return false;
-		}
-
-		// Parse the class content using JavaParser
-		JavaParser javaParser = new JavaParser();
-		Optional<CompilationUnit> optionalCompilationUnit = javaParser.parse(classContent).getResult();
-
-		if (optionalCompilationUnit.isEmpty()) {
-			System.out.println("Error: Failed to parse the class content from file: " + filePath);
+		// Look up the parsed class in the project model
+		CompilationUnit compilationUnit = loadCompilationUnit(filePath);
+		if (compilationUnit == null) {
 			return false;
 		}
 
-		CompilationUnit compilationUnit = optionalCompilationUnit.get();
-
 		// Check if any constructor contains the required annotation
 		Optional<ClassOrInterfaceDeclaration> classDeclaration = compilationUnit.getClassByName(getClassName(filePath));
 
@@ -171,26 +142,52 @@ public class CustomParser {
 		return true;
 	}
 
+	/**
+	 * Returns the parsed class from the project model, parsing the file on
+	 * demand when it lies outside src/main.
+	 * 
+	 * @param filePath Path to the class file, relative to the project root.
+	 * @return The parsed class, or null if it could not be loaded or parsed.
+	 * @throws IOException
+	 */
+	private static CompilationUnit loadCompilationUnit(String filePath) throws IOException {
+		ProjectModel model = ProjectModel.shared();
+		Path file = model.resolve(filePath);
+
+		Optional<CompilationUnit> optionalCompilationUnit;
+		if (model.containsJavaSource(file)) {
+			optionalCompilationUnit = model.getCompilationUnit(file);
+		} else {
+			String classContent = loadClassContent(file);
+			if (classContent == null) {
+				System.out.println("Error: Failed to load class content from file: " + filePath);
+				return null;
+			}
+			optionalCompilationUnit = new JavaParser().parse(classContent).getResult();
+		}
+
+		if (optionalCompilationUnit.isEmpty()) {
+			System.out.println("Error: Failed to parse the class content from file: " + filePath);
+			return null;
+		}
+		return optionalCompilationUnit.get();
+	}
+
 	/**
 	 * Loads the content of the class file from the file path.
 	 * 
-	 * @param filePath Full path to the class file.
+	 * @param file Full path to the class file.
 	 * @return The class content as a String.
 	 * @throws IOException
 	 */
-	private static String loadClassContent(String filePath) throws IOException {
-		// Create a File object from the provided file path
-		File participantFile = new File(filePath);
-		if (!participantFile.exists()) {
-			System.out.println("Error: Class file not found: " + filePath);
+	private static String loadClassContent(Path file) throws IOException {
+		if (!Files.exists(file)) {
+			System.out.println("Error: Class file not found: " + file);
 			return null;
 		}
 
 		// Read the content of the file
-		try (FileInputStream fileInputStream = new FileInputStream(participantFile)) {
-			byte[] bytes = fileInputStream.readAllBytes();
-			return new String(bytes, StandardCharsets.UTF_8);
-		}
+		return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
 	}
 
 	/**
@@ -206,24 +203,12 @@ public class CustomParser {
 			throws IOException {
 		System.out.println("Checking field-level annotation on field of type '" + fieldType + "' in file: " + filePath);
 
-		// Load class content
-		String classContent = loadClassContent(filePath);
-		if (classContent == null) {
-			System.out.println("Error: Failed to load class content from file: " + filePath);
+		// Look up the parsed class in the project model
+		CompilationUnit compilationUnit = loadCompilationUnit(filePath);
+		if (compilationUnit == null) {
 			return false;
 		}
 
-		// Parse the class content using JavaParser
-		JavaParser javaParser = new JavaParser();
-		Optional<CompilationUnit> optionalCompilationUnit = javaParser.parse(classContent).getResult();
-
-		if (optionalCompilationUnit.isEmpty()) {
-			System.out.println("Error: Failed to parse the class content from file: " + filePath);
-			return false;
-		}
-
-		CompilationUnit compilationUnit = optionalCompilationUnit.get();
-
 		// Check if the class contains the required field annotation
 		Optional<ClassOrInterfaceDeclaration> classDeclaration = compilationUnit.getClassByName(getClassName(filePath));
 
@@ -268,24 +253,12 @@ public class CustomParser {
 		System.out.println(
 				"Checking constructor parameters for annotation @" + constructorAnnotation + " in file: " + filePath);
 
-		// Load class content
-		String classContent = loadClassContent(filePath);
-		if (classContent == null) {
-			System.out.println("Error: Failed to load class content from file: " + filePath);
-			return false;
-		}
-
-		// Parse the class content using JavaParser
-		JavaParser javaParser = new JavaParser();
-		Optional<CompilationUnit> optionalCompilationUnit = javaParser.parse(classContent).getResult();
-
-		if (optionalCompilationUnit.isEmpty()) {
-			System.out.println("Error: Failed to parse the class content from file: " + filePath);
+		// Look up the parsed class in the project model
+		CompilationUnit compilationUnit = loadCompilationUnit(filePath);
+		if (compilationUnit == null) {
 			return false;
 		}
 
-		CompilationUnit compilationUnit = optionalCompilationUnit.get();
-
 		// Check if the class contains the required constructor annotation
 		Optional<ClassOrInterfaceDeclaration> classDeclaration = compilationUnit.getClassByName(getClassName(filePath));
 
@@ -317,18 +290,10 @@ public class CustomParser {
 			throws IOException {
 		System.out.println("Checking class-level annotation value in file: " + filePath);
 
-		String classContent = loadClassContent(filePath);
-		if (classContent == null) {
-			return false;
-		}
-
-		JavaParser javaParser = new JavaParser();
-		Optional<CompilationUnit> optionalCompilationUnit = javaParser.parse(classContent).getResult();
-		if (optionalCompilationUnit.isEmpty()) {
+		CompilationUnit compilationUnit = loadCompilationUnit(filePath);
+		if (compilationUnit == null) {
 			return false;
 		}
-
-		CompilationUnit compilationUnit = optionalCompilationUnit.get();
 		Optional<ClassOrInterfaceDeclaration> classDeclaration = compilationUnit.getClassByName(getClassName(filePath));
 		if (classDeclaration.isEmpty()) {
 			return false;
@@ -356,24 +321,12 @@ public class CustomParser {
 			String annotationValue) throws IOException {
 		System.out.println("Checking method-level annotation with value in file: " + filePath);
 
-		// Load class content
-		String classContent = loadClassContent(filePath);
-		if (classContent == null) {
-			System.out.println("Error: Failed to load class content from file: " + filePath);
+		// Look up the parsed class in the project model
+		CompilationUnit compilationUnit = loadCompilationUnit(filePath);
+		if (compilationUnit == null) {
 			return false;
 		}
 
-		// Parse the class content using JavaParser
-		JavaParser javaParser = new JavaParser();
-		Optional<CompilationUnit> optionalCompilationUnit = javaParser.parse(classContent).getResult();
-
-		if (optionalCompilationUnit.isEmpty()) {
-			System.out.println("Error: Failed to parse the class content from file: " + filePath);
-			return false;
-		}
-
-		CompilationUnit compilationUnit = optionalCompilationUnit.get();
-
 		// Check if any method contains the required annotation and value
 		Optional<ClassOrInterfaceDeclaration> classDeclaration = compilationUnit.getClassByName(getClassName(filePath));
 
@@ -429,24 +382,12 @@ public class CustomParser {
 		System.out.println("Checking if method '" + methodName + "' has a parameter annotated with @" + annotation
 				+ " with value: " + annotationValue);
 
-		// Load class content
-		String classContent = loadClassContent(filePath);
-		if (classContent == null) {
-			System.out.println("Error: Failed to load class content from file: " + filePath);
-			return false;
-		}
-
-		// Parse the class content using JavaParser
-		JavaParser javaParser = new JavaParser();
-		Optional<CompilationUnit> optionalCompilationUnit = javaParser.parse(classContent).getResult();
-
-		if (optionalCompilationUnit.isEmpty()) {
-			System.out.println("Error: Failed to parse the class content from file: " + filePath);
+		// Look up the parsed class in the project model
+		CompilationUnit compilationUnit = loadCompilationUnit(filePath);
+		if (compilationUnit == null) {
 			return false;
 		}
 
-		CompilationUnit compilationUnit = optionalCompilationUnit.get();
-
 		// Check if the class contains the specified method
 		Optional<ClassOrInterfaceDeclaration> classDeclaration = compilationUnit.getClassByName(getClassName(filePath));
 
@@ -484,18 +425,23 @@ public class CustomParser {
 	 * @throws IOException if file reading fails.
 	 */
 	public static boolean checkJspTagPresence(String filePath, String tag) throws IOException {
-		File file = new File(filePath);
+		ProjectModel model = ProjectModel.shared();
+		Path file = model.resolve(filePath);
 
 		System.out.println("Checking file: " + filePath);
 
-		// Ensure file exists
-		if (!file.exists()) {
-			System.err.println("Error: JSP file does not exist at path - " + filePath);
-			return false;
-		}
+		// Views under src/main are already in the model
+		String jspContent = model.getJspContent(file);
+		if (jspContent == null) {
+			// Ensure file exists
+			if (!Files.exists(file)) {
+				System.err.println("Error: JSP file does not exist at path - " + filePath);
+				return false;
+			}
 
-		// Read file as raw text
-		String jspContent = new String(Files.readAllBytes(Paths.get(filePath)));
+			// Read file as raw text
+			jspContent = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+		}
 
 		// Check if the tag is present
 		boolean containsTag = jspContent.contains(tag);
@@ -518,17 +464,22 @@ public class CustomParser {
 	 * @throws IOException If file reading fails.
 	 */
 	public static boolean isTagProperlyClosedInFile(String filePath, String tag) throws IOException {
-		File file = new File(filePath);
+		ProjectModel model = ProjectModel.shared();
+		Path file = model.resolve(filePath);
+
+		// Views under src/main are already parsed in the model
+		Document document = model.getJspDocument(file);
+		if (document == null) {
+			// Ensure the file exists before parsing
+			if (!Files.exists(file)) {
+				System.err.println("Error: File does not exist at path - " + filePath);
+				return false;
+			}
 
-		// Ensure the file exists before parsing
-		if (!file.exists()) {
-			System.err.println("Error: File does not exist at path - " + filePath);
-			return false;
+			// Parse the HTML file using JSoup
+			document = Jsoup.parse(file.toFile(), "UTF-8");
 		}
 
-		// Parse the HTML file using JSoup
-		Document document = Jsoup.parse(file, "UTF-8");
-
 		// Select all occurrences of the specified tag
 		Elements elements = document.select(tag);
 
@@ -0,0 +1,211 @@
+package com.yaksha.assignment.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.catalina.Container;
+import org.apache.catalina.Context;
+import org.apache.catalina.Globals;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.WebResourceRoot;
+import org.apache.catalina.core.StandardWrapper;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.catalina.webresources.DirResourceSet;
+import org.apache.catalina.webresources.StandardRoot;
+import org.apache.tomcat.util.scan.StandardJarScanner;
+
+/**
+ * Boots the webapp from src/main/webapp and target/classes in an embedded
+ * Tomcat on a random port, for tests that need to go over HTTP.
+ */
+public class EmbeddedServer implements AutoCloseable {
+
+	public static final String WEBAPP_DIR = "src/main/webapp";
+	public static final String CLASSES_DIR = "target/classes";
+	public static final String PRECOMPILED_WEB_XML = "target/web.xml";
+
+	private static final long STOP_TIMEOUT_MILLIS = 5000;
+
+	private final Path baseDir;
+	private final Tomcat tomcat;
+	private final Context context;
+
+	private EmbeddedServer(String webXml) throws IOException, LifecycleException {
+		baseDir = Files.createTempDirectory("yaksha-tomcat");
+		tomcat = new Tomcat();
+		tomcat.setBaseDir(baseDir.toAbsolutePath().toString());
+		tomcat.setPort(0);
+		tomcat.getConnector();
+
+		context = tomcat.addWebapp("", new File(WEBAPP_DIR).getAbsolutePath());
+		if (webXml != null) {
+			context.setAltDDName(new File(webXml).getAbsolutePath());
+		}
+		((StandardJarScanner) context.getJarScanner()).setScanClassPath(false);
+
+		WebResourceRoot resources = new StandardRoot(context);
+		resources.addPreResources(new DirResourceSet(resources, "/WEB-INF/classes",
+				new File(CLASSES_DIR).getAbsolutePath(), "/"));
+		context.setResources(resources);
+
+		tomcat.start();
+	}
+
+	// JSPs are compiled by Jasper on first request
+	public static EmbeddedServer start() throws IOException, LifecycleException {
+		return new EmbeddedServer(null);
+	}
+
+	// JSPs are served by the servlets precompiled at build time
+	public static EmbeddedServer startPrecompiled() throws IOException, LifecycleException {
+		return new EmbeddedServer(PRECOMPILED_WEB_XML);
+	}
+
+	public static boolean isPrecompiled() {
+		return new File(PRECOMPILED_WEB_XML).isFile();
+	}
+
+	public Tomcat getTomcat() {
+		return tomcat;
+	}
+
+	public Context getContext() {
+		return context;
+	}
+
+	public int getPort() {
+		return tomcat.getConnector().getLocalPort();
+	}
+
+	public String url(String path) {
+		return "http://localhost:" + getPort() + path;
+	}
+
+	// Request headers are given as name, value pairs
+	public Response get(String path, String... headers) throws IOException {
+		return request("GET", path, headers);
+	}
+
+	public Response post(String path, String... headers) throws IOException {
+		return request("POST", path, headers);
+	}
+
+	public Response delete(String path, String... headers) throws IOException {
+		return request("DELETE", path, headers);
+	}
+
+	// The body is read to the end so the connection can be kept alive for the next request
+	private Response request(String method, String path, String... headers) throws IOException {
+		HttpURLConnection conn = (HttpURLConnection) new URL(url(path)).openConnection();
+		conn.setRequestMethod(method);
+		for (int i = 0; i + 1 < headers.length; i += 2) {
+			conn.setRequestProperty(headers[i], headers[i + 1]);
+		}
+		int status = conn.getResponseCode();
+		InputStream in = status < 400 ? conn.getInputStream() : conn.getErrorStream();
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		if (in != null) {
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				body.write(buffer, 0, read);
+			}
+			in.close();
+		}
+		Map<String, List<String>> responseHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		for (Map.Entry<String, List<String>> header : conn.getHeaderFields().entrySet()) {
+			if (header.getKey() != null) {
+				responseHeaders.put(header.getKey(), header.getValue());
+			}
+		}
+		return new Response(status, body.toByteArray(), responseHeaders);
+	}
+
+	// Stops accepting first and lets requests already in a servlet finish, as a graceful shutdown does
+	@Override
+	public void close() throws LifecycleException, IOException {
+		try {
+			tomcat.getConnector().pause();
+			awaitServletsIdle();
+			tomcat.stop();
+			tomcat.destroy();
+		} finally {
+			// Work files of the JSPs Jasper compiled
+			try (Stream<Path> files = Files.walk(baseDir)) {
+				files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+			}
+			// Tomcat publishes its base dir here, and the next server would recreate it
+			String base = baseDir.toAbsolutePath().toString();
+			if (base.equals(System.getProperty(Globals.CATALINA_HOME_PROP))) {
+				System.clearProperty(Globals.CATALINA_HOME_PROP);
+			}
+			if (base.equals(System.getProperty(Globals.CATALINA_BASE_PROP))) {
+				System.clearProperty(Globals.CATALINA_BASE_PROP);
+			}
+		}
+	}
+
+	// Tomcat unmaps the context before unloading its servlets, so a forward still under way would fail
+	private void awaitServletsIdle() {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STOP_TIMEOUT_MILLIS);
+		while (System.nanoTime() - deadline < 0) {
+			boolean idle = true;
+			for (Container child : context.findChildren()) {
+				idle &= ((StandardWrapper) child).getCountAllocated() == 0;
+			}
+			if (idle) {
+				return;
+			}
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	public static class Response {
+
+		private final int status;
+		private final byte[] body;
+		private final Map<String, List<String>> headers;
+
+		public Response(int status, byte[] body, Map<String, List<String>> headers) {
+			this.status = status;
+			this.body = body;
+			this.headers = headers;
+		}
+
+		public int getStatus() {
+			return status;
+		}
+
+		public byte[] getBody() {
+			return body;
+		}
+
+		public String getText() {
+			return new String(body, StandardCharsets.UTF_8);
+		}
+
+		public List<String> getHeaders(String name) {
+			List<String> values = headers.get(name);
+			return values != null ? values : Collections.<String> emptyList();
+		}
+	}
+}
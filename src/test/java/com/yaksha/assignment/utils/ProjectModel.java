@@ -0,0 +1,212 @@
+package com.yaksha.assignment.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+
+/**
+ * Every .java source and .jsp view under src/main of a project, read and
+ * parsed once in parallel on a fork-join pool.
+ *
+ * The model is a snapshot taken when it is loaded; its maps are never
+ * changed afterwards and the parsed trees are only read, so any number of
+ * checks can query it concurrently. Relative paths are resolved against the
+ * project root, the working directory unless project.root is set.
+ */
+public final class ProjectModel {
+
+	public static final String SOURCES_DIR = "src/main";
+
+	// Files per fork-join leaf; a parse is long enough that small leaves balance best
+	private static final int LEAF_SIZE = 4;
+
+	private static ProjectModel shared;
+
+	private final Path root;
+	private final Map<Path, Optional<CompilationUnit>> javaSources;
+	private final Map<Path, JspView> jspViews;
+	private final long loadNanos;
+
+	private ProjectModel(Path root, Map<Path, Optional<CompilationUnit>> javaSources, Map<Path, JspView> jspViews,
+			long loadNanos) {
+		this.root = root;
+		this.javaSources = Collections.unmodifiableMap(javaSources);
+		this.jspViews = Collections.unmodifiableMap(jspViews);
+		this.loadNanos = loadNanos;
+	}
+
+	/**
+	 * The model of the project under test, loaded on first use on the common
+	 * pool.
+	 */
+	public static synchronized ProjectModel shared() throws IOException {
+		if (shared == null) {
+			shared = load(Paths.get(System.getProperty("project.root", "")), ForkJoinPool.commonPool());
+		}
+		return shared;
+	}
+
+	/**
+	 * Discovers and parses the sources under root/src/main on the given pool.
+	 */
+	public static ProjectModel load(Path root, ForkJoinPool pool) throws IOException {
+		long start = System.nanoTime();
+		Path projectRoot = root.toAbsolutePath().normalize();
+		Path sources = projectRoot.resolve(SOURCES_DIR);
+		List<Path> files;
+		if (Files.isDirectory(sources)) {
+			try (Stream<Path> walk = Files.walk(sources)) {
+				files = walk.filter(ProjectModel::isModelled).filter(Files::isRegularFile)
+						.collect(Collectors.toList());
+			}
+		} else {
+			files = Collections.emptyList();
+		}
+
+		Object[] parsed = new Object[files.size()];
+		try {
+			pool.invoke(new ParseTask(files, parsed, 0, files.size()));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+
+		Map<Path, Optional<CompilationUnit>> javaSources = new HashMap<>();
+		Map<Path, JspView> jspViews = new HashMap<>();
+		for (int i = 0; i < parsed.length; i++) {
+			if (parsed[i] instanceof JspView) {
+				jspViews.put(files.get(i), (JspView) parsed[i]);
+			} else {
+				@SuppressWarnings("unchecked")
+				Optional<CompilationUnit> compilationUnit = (Optional<CompilationUnit>) parsed[i];
+				javaSources.put(files.get(i), compilationUnit);
+			}
+		}
+		return new ProjectModel(projectRoot, javaSources, jspViews, System.nanoTime() - start);
+	}
+
+	private static boolean isModelled(Path file) {
+		String name = file.getFileName().toString();
+		return name.endsWith(".java") || name.endsWith(".jsp");
+	}
+
+	public Path getRoot() {
+		return root;
+	}
+
+	// The absolute path a check's file path refers to
+	public Path resolve(String filePath) {
+		return root.resolve(filePath).normalize();
+	}
+
+	public boolean containsJavaSource(Path file) {
+		return javaSources.containsKey(file);
+	}
+
+	/**
+	 * The parsed source, or empty if the file does not parse.
+	 */
+	public Optional<CompilationUnit> getCompilationUnit(Path file) {
+		Optional<CompilationUnit> compilationUnit = javaSources.get(file);
+		return compilationUnit != null ? compilationUnit : Optional.<CompilationUnit> empty();
+	}
+
+	public boolean containsJspView(Path file) {
+		return jspViews.containsKey(file);
+	}
+
+	// Raw JSP text, or null if the view is not in the model
+	public String getJspContent(Path file) {
+		JspView view = jspViews.get(file);
+		return view != null ? view.content : null;
+	}
+
+	// The view parsed as HTML, or null if the view is not in the model
+	public Document getJspDocument(Path file) {
+		JspView view = jspViews.get(file);
+		return view != null ? view.document : null;
+	}
+
+	public int getJavaSourceCount() {
+		return javaSources.size();
+	}
+
+	public int getJspViewCount() {
+		return jspViews.size();
+	}
+
+	public long getLoadNanos() {
+		return loadNanos;
+	}
+
+	private static final class JspView {
+
+		private final String content;
+		private final Document document;
+
+		private JspView(String content) {
+			this.content = content;
+			this.document = Jsoup.parse(content);
+		}
+	}
+
+	// Splits the file list in halves down to LEAF_SIZE files, each leaf with its own parser
+	private static final class ParseTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<Path> files;
+		private final Object[] parsed;
+		private final int from;
+		private final int to;
+
+		private ParseTask(List<Path> files, Object[] parsed, int from, int to) {
+			this.files = files;
+			this.parsed = parsed;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > LEAF_SIZE) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new ParseTask(files, parsed, from, middle), new ParseTask(files, parsed, middle, to));
+				return;
+			}
+			// JavaParser instances are not thread-safe, so each leaf gets one
+			JavaParser javaParser = new JavaParser();
+			for (int i = from; i < to; i++) {
+				Path file = files.get(i);
+				String content;
+				try {
+					content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				if (file.getFileName().toString().endsWith(".jsp")) {
+					parsed[i] = new JspView(content);
+				} else {
+					parsed[i] = javaParser.parse(content).getResult();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.yaksha.assignment.utils;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Writes grading results as the JSON the results endpoint expects.
+ *
+ * The endpoint takes the test case results as a JSON document embedded in a
+ * string field of the {@link TestResults} envelope. Rather than serializing
+ * the map to a String and the envelope to another, the map is written into a
+ * per-thread character buffer and the envelope is streamed straight to the
+ * output, escaping the buffer as it goes. One {@link ObjectWriter} is shared
+ * by every thread; it is immutable and caches its serializers.
+ */
+public final class ResultSerializer {
+
+	private static final ObjectWriter WRITER = new ObjectMapper().writer()
+			.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+	private static final ThreadLocal<CaseResultsBuffer> BUFFER = ThreadLocal.withInitial(CaseResultsBuffer::new);
+
+	private ResultSerializer() {
+	}
+
+	/**
+	 * Streams the envelope to out with caseResults as its testCaseResults
+	 * field; the envelope's own testCaseResults is ignored. The stream is
+	 * flushed but not closed.
+	 */
+	public static void write(Map<String, TestCaseResultDto> caseResults, TestResults envelope, OutputStream out)
+			throws IOException {
+		CaseResultsBuffer buffer = BUFFER.get();
+		buffer.reset();
+		WRITER.writeValue(buffer, caseResults);
+
+		// Same fields, in the same order, as serializing TestResults
+		try (JsonGenerator generator = WRITER.createGenerator(out, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			generator.writeFieldName("testCaseResults");
+			generator.writeString(buffer.chars(), 0, buffer.size());
+			generator.writeStringField("customData", envelope.getCustomData());
+			generator.writeStringField("hostName", envelope.getHostName());
+			generator.writeStringField("attemptId", envelope.getAttemptId());
+			generator.writeStringField("filePath", envelope.getFilePath());
+			generator.writeEndObject();
+		}
+		buffer.trim();
+	}
+
+	public static String asJsonString(Object value) throws JsonProcessingException {
+		return WRITER.writeValueAsString(value);
+	}
+
+	// Reused per thread, so the embedded document is escaped from its backing array
+	private static final class CaseResultsBuffer extends CharArrayWriter {
+
+		// A large result set should not pin its buffer to the thread
+		private static final int MAX_RETAINED_CHARS = 64 * 1024;
+
+		private CaseResultsBuffer() {
+			super(512);
+		}
+
+		private char[] chars() {
+			return buf;
+		}
+
+		private void trim() {
+			if (buf.length > MAX_RETAINED_CHARS) {
+				buf = new char[512];
+				count = 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,411 @@
+package com.yaksha.assignment.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead spool for grading results.
+ *
+ * Each payload is appended to the spool file and forced to disk before
+ * {@link #append} returns, so a slow or unreachable results endpoint never
+ * stalls the test run and never loses a result. A background sender posts
+ * the spooled payloads in order, a batch at a time, retrying failures with
+ * exponential backoff. The file starts with the offset of the first unsent
+ * record, advanced after every batch; opening a spool with unsent records
+ * replays them first, and a record torn by a crash mid-append is cut off.
+ *
+ * File layout: an 8-byte committed offset, then records of a 4-byte length,
+ * a 4-byte CRC32 and the payload. Once everything is sent the file is
+ * truncated back to its header. The endpoint takes one result per POST, so a
+ * batch is the records sent over the kept-alive connection between commits.
+ *
+ * The spool holds an exclusive lock on its file while open, so two runs in
+ * the same directory cannot interleave records; the second fails to open.
+ * A result whose POST was under way when the spool closed may be sent again
+ * by the next run.
+ */
+public class ResultSpool implements AutoCloseable {
+
+	private static final int HEADER_BYTES = 8;
+	private static final int RECORD_HEADER_BYTES = 8;
+	private static final int MAX_RECORD_BYTES = 1 << 20;
+	private static final int MAX_BATCH = 32;
+
+	private static final long INITIAL_BACKOFF_MILLIS = 100;
+	private static final long MAX_BACKOFF_MILLIS = 30_000;
+	private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+	private static final int READ_TIMEOUT_MILLIS = 10_000;
+	private static final long STOP_TIMEOUT_MILLIS = 1_000;
+
+	private final File file;
+	private final URL url;
+	private final FileChannel channel;
+	private final FileLock fileLock;
+	private final Thread sender;
+	private final Object lock = new Object();
+
+	// Guarded by lock
+	private long committed;
+	private long end;
+	private long pending;
+	private boolean closing;
+
+	private volatile boolean stopped;
+	private volatile long sent;
+	private volatile long retries;
+	private volatile long rejected;
+	private volatile long replayed;
+
+	private ResultSpool(File file, URL url) throws IOException {
+		this.file = file;
+		this.url = url;
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		fileLock = tryLock(channel);
+		if (fileLock == null) {
+			channel.close();
+			throw new IOException("Result spool " + file + " is in use by another run");
+		}
+		recover();
+		sender = new Thread(this::sendLoop, "result-spool-sender");
+		sender.setDaemon(true);
+		sender.start();
+	}
+
+	/**
+	 * Opens the spool at file, resuming any results a previous run left
+	 * unsent, and starts sending to url.
+	 */
+	public static ResultSpool open(File file, String url) throws IOException {
+		return new ResultSpool(file, new URL(url));
+	}
+
+	// Null if another process, or another spool in this JVM, holds the lock
+	private static FileLock tryLock(FileChannel channel) throws IOException {
+		try {
+			return channel.tryLock();
+		} catch (OverlappingFileLockException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Appends a payload durably and returns; it is sent in the background.
+	 */
+	public void append(byte[] payload) throws IOException {
+		if (payload.length > MAX_RECORD_BYTES) {
+			throw new IOException("Result of " + payload.length + " bytes is too large to spool");
+		}
+		CRC32 crc = new CRC32();
+		crc.update(payload, 0, payload.length);
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length);
+		record.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+
+		synchronized (lock) {
+			if (closing) {
+				throw new IOException("Result spool is closed");
+			}
+			writeFully(record, end);
+			channel.force(false);
+			end += record.capacity();
+			pending++;
+			lock.notifyAll();
+		}
+	}
+
+	// Validates the records after the committed offset and cuts off a torn tail
+	private void recover() throws IOException {
+		long size = channel.size();
+		if (size < HEADER_BYTES) {
+			channel.truncate(0);
+			writeHeader(HEADER_BYTES);
+			committed = HEADER_BYTES;
+			end = HEADER_BYTES;
+			return;
+		}
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		readFully(header, 0);
+		committed = header.getLong(0);
+		if (committed < HEADER_BYTES || committed > size) {
+			committed = HEADER_BYTES;
+		}
+
+		long offset = committed;
+		long valid = 0;
+		while (true) {
+			byte[] payload = readRecord(offset, size);
+			if (payload == null) {
+				break;
+			}
+			offset += RECORD_HEADER_BYTES + payload.length;
+			valid++;
+		}
+		if (offset < size) {
+			System.out.println("Result spool: dropping " + (size - offset) + " torn bytes from " + file);
+			channel.truncate(offset);
+			channel.force(false);
+		}
+		end = offset;
+		pending = valid;
+		replayed = valid;
+		if (valid > 0) {
+			System.out.println("Result spool: resuming " + valid + " unsent results from " + file);
+		}
+	}
+
+	// The payload of the record at offset, or null if there is no whole, intact record before limit
+	private byte[] readRecord(long offset, long limit) throws IOException {
+		if (offset + RECORD_HEADER_BYTES > limit) {
+			return null;
+		}
+		ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+		readFully(header, offset);
+		int length = header.getInt(0);
+		int checksum = header.getInt(4);
+		if (length < 0 || length > MAX_RECORD_BYTES || offset + RECORD_HEADER_BYTES + length > limit) {
+			return null;
+		}
+		ByteBuffer payload = ByteBuffer.allocate(length);
+		readFully(payload, offset + RECORD_HEADER_BYTES);
+		CRC32 crc = new CRC32();
+		crc.update(payload.array(), 0, length);
+		return (int) crc.getValue() == checksum ? payload.array() : null;
+	}
+
+	private void sendLoop() {
+		try {
+			while (!stopped) {
+				long from;
+				long limit;
+				synchronized (lock) {
+					while (committed == end && !closing) {
+						lock.wait();
+					}
+					if (committed == end) {
+						return;
+					}
+					from = committed;
+					limit = end;
+				}
+
+				long offset = from;
+				List<byte[]> batch = new ArrayList<>(MAX_BATCH);
+				while (batch.size() < MAX_BATCH) {
+					byte[] payload = readRecord(offset, limit);
+					if (payload == null) {
+						break;
+					}
+					batch.add(payload);
+					offset += RECORD_HEADER_BYTES + payload.length;
+				}
+
+				// Commit what was sent even when stopped mid-batch, so the next run does not resend it
+				long sentTo = from;
+				int count = 0;
+				try {
+					for (byte[] payload : batch) {
+						if (!sendWithBackoff(payload)) {
+							return;
+						}
+						sentTo += RECORD_HEADER_BYTES + payload.length;
+						count++;
+					}
+				} finally {
+					if (count > 0) {
+						commit(sentTo, count);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			System.out.println("Result spool: sender stopped, unsent results stay in " + file + ": " + e);
+		}
+	}
+
+	// Returns false if the spool was stopped before the payload could be sent
+	private boolean sendWithBackoff(byte[] payload) throws InterruptedException {
+		long backoff = INITIAL_BACKOFF_MILLIS;
+		while (!stopped) {
+			try {
+				int status = post(payload);
+				if (status == HttpURLConnection.HTTP_OK || status == HttpURLConnection.HTTP_CREATED) {
+					sent++;
+					return true;
+				}
+				if (!isRetryable(status)) {
+					// Resending a payload the endpoint refuses would hold up every result behind it
+					rejected++;
+					System.out.println(TestUtils.RED_BOLD_BRIGHT + "⚠️ Unable to push test cases,please try again! ["
+							+ status + "]" + TestUtils.TEXT_RESET);
+					return true;
+				}
+			} catch (IOException e) {
+				// Connection refused, reset or timed out; retried below
+			}
+			retries++;
+			// Full jitter keeps concurrent runs from retrying in lockstep
+			Thread.sleep(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1));
+			backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+		}
+		return false;
+	}
+
+	private static boolean isRetryable(int status) {
+		return status >= 500 || status == 408 || status == 429;
+	}
+
+	private int post(byte[] payload) throws IOException {
+		HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+		conn.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+		conn.setReadTimeout(READ_TIMEOUT_MILLIS);
+		conn.setDoOutput(true);
+		conn.setRequestMethod("POST");
+		conn.setRequestProperty("Content-Type", "application/json");
+		conn.setFixedLengthStreamingMode(payload.length);
+		try (OutputStream os = conn.getOutputStream()) {
+			os.write(payload);
+		}
+		int status = conn.getResponseCode();
+		// Reading the response to the end lets the connection be reused for the next result
+		InputStream in = status < 400 ? conn.getInputStream() : conn.getErrorStream();
+		if (in != null) {
+			try {
+				byte[] discard = new byte[512];
+				while (in.read(discard) != -1) {
+					// drain
+				}
+			} finally {
+				in.close();
+			}
+		}
+		return status;
+	}
+
+	private void commit(long offset, int count) throws IOException {
+		synchronized (lock) {
+			pending -= count;
+			if (offset == end) {
+				// Everything is sent: start the file over
+				channel.truncate(HEADER_BYTES);
+				end = HEADER_BYTES;
+				offset = HEADER_BYTES;
+			}
+			writeHeader(offset);
+			committed = offset;
+			lock.notifyAll();
+		}
+	}
+
+	private void writeHeader(long offset) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		header.putLong(offset).flip();
+		writeFully(header, 0);
+		channel.force(false);
+	}
+
+	private void writeFully(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			position += channel.write(buffer, position);
+		}
+	}
+
+	private void readFully(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position);
+			if (read < 0) {
+				throw new IOException("Unexpected end of " + file);
+			}
+			position += read;
+		}
+	}
+
+	// Results spooled but not yet sent
+	public long getPending() {
+		synchronized (lock) {
+			return pending;
+		}
+	}
+
+	public long getSent() {
+		return sent;
+	}
+
+	public long getRetries() {
+		return retries;
+	}
+
+	public long getRejected() {
+		return rejected;
+	}
+
+	// Results left unsent by a previous run and resumed on open
+	public long getReplayed() {
+		return replayed;
+	}
+
+	/**
+	 * Waits up to timeoutMillis for the sender to send everything appended so
+	 * far, and returns whether it did.
+	 */
+	public boolean flush(long timeoutMillis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		synchronized (lock) {
+			long remaining;
+			while (committed != end && sender.isAlive() && (remaining = deadline - System.nanoTime()) > 0) {
+				try {
+					TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			return committed == end;
+		}
+	}
+
+	/**
+	 * Waits up to timeoutMillis for the sender to empty the spool, then stops
+	 * it, giving a POST under way at most another second. Whatever is left is
+	 * sent by the next run.
+	 */
+	public void close(long timeoutMillis) throws IOException {
+		synchronized (lock) {
+			closing = true;
+			lock.notifyAll();
+		}
+		flush(timeoutMillis);
+		stopped = true;
+		sender.interrupt();
+		try {
+			sender.join(STOP_TIMEOUT_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		long unsent = getPending();
+		// Closing the channel releases the file lock
+		channel.close();
+		if (unsent > 0) {
+			System.out.println("Result spool: " + unsent + " results left in " + file + " for the next run");
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		close(0);
+	}
+}
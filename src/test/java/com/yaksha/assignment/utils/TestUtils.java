@@ -1,6 +1,7 @@
 package com.yaksha.assignment.utils;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -16,7 +17,6 @@ import java.util.Map;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 // boiler-plate code
 
@@ -43,6 +43,9 @@ public class TestUtils {
 	public static String customData;
 	public static final String URL =  "https://compiler.techademy.com/v1/mfa-results/push";
 
+	// Results are spooled to disk and pushed in the background; null if the spool could not be opened
+	private static ResultSpool spool;
+
 	static {
 		total = 0;
 		passed = 0;
@@ -58,6 +61,21 @@ public class TestUtils {
 
 		exceptionTestFile = new File("./output_exception_revised.txt");
 		exceptionTestFile.delete();
+
+		// testReport() waits for the results to be sent; the hook only catches runs that never call it
+		try {
+			spool = ResultSpool.open(new File(System.getProperty("results.spool", "./results.spool")), URL);
+			long shutdownMillis = Long.getLong("results.spool.shutdown-ms", 2_000);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					spool.close(shutdownMillis);
+				} catch (IOException e) {
+					System.out.println(e.getMessage());
+				}
+			}, "result-spool-shutdown"));
+		} catch (IOException e) {
+			System.out.println("Result spool unavailable, pushing results directly: " + e.getMessage());
+		}
 	}
 
 	private static String readData(String filePath) {
@@ -107,7 +125,6 @@ public class TestUtils {
 		String filePath = TestUtils.class.getProtectionDomain().getCodeSource().getLocation().getPath();
 
 
-		testResults.setTestCaseResults(asJsonString(testCaseResults));
 		testResults.setCustomData(customData);
 		testResults.setHostName(hostName);
 		testResults.setAttemptId(AttemptId);
@@ -117,6 +134,41 @@ public class TestUtils {
 		int length = 0;
 		if(customData != null) {length = customData.length(); }
 
+		if (spool != null) {
+			try {
+				ByteArrayOutputStream payload = new ByteArrayOutputStream(512);
+				ResultSerializer.write(testCaseResults, testResults, payload);
+				spool.append(payload.toByteArray());
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		} else {
+			pushResults(testCaseResults, testResults, hostName, AttemptId, length);
+		}
+
+		total++;
+		String[] r = testName.split("(?=\\p{Upper})");
+		System.out.print("\n" + BLUE_BOLD_BRIGHT + "=>");
+
+		System.out.print(YELLOW_BOLD_BRIGHT + "Test For : ");
+
+		for (int i = 1; i < r.length; i++) {
+			System.out.print(YELLOW_BOLD_BRIGHT + r[i] + " ");
+
+		}
+		System.out.print(" : ");
+
+		if (result.toString().equals("true")) {
+			System.out.println(GREEN_BOLD_BRIGHT + "PASSED" + TEXT_RESET);
+			passed++;
+		} else {
+			System.out.println(RED_BOLD_BRIGHT + "FAILED" + TEXT_RESET);
+			failed++;
+		}
+	}
+
+	private static void pushResults(Map<String, TestCaseResultDto> testCaseResults, TestResults testResults,
+			String hostName, String AttemptId, int length) {
 		try {
 
 			URL url = new URL(URL);
@@ -125,11 +177,9 @@ public class TestUtils {
 			conn.setRequestMethod("POST");
 			conn.setRequestProperty("Content-Type", "application/json");
 
-			//	String input = "{\"qty\":100,\"name\":\"iPad 4\"}";
-			String input = asJsonString(testResults);
+			// Results are streamed to the connection without intermediate Strings
 			OutputStream os = conn.getOutputStream();
-			os.write(input.getBytes());
-			os.flush();
+			ResultSerializer.write(testCaseResults, testResults, os);
 			os.close();
 
 			int responseCode = conn.getResponseCode();
@@ -155,29 +205,13 @@ public class TestUtils {
 			e.printStackTrace();
 
 		}
-
-		total++;
-		String[] r = testName.split("(?=\\p{Upper})");
-		System.out.print("\n" + BLUE_BOLD_BRIGHT + "=>");
-
-		System.out.print(YELLOW_BOLD_BRIGHT + "Test For : ");
-
-		for (int i = 1; i < r.length; i++) {
-			System.out.print(YELLOW_BOLD_BRIGHT + r[i] + " ");
-
-		}
-		System.out.print(" : ");
-
-		if (result.toString().equals("true")) {
-			System.out.println(GREEN_BOLD_BRIGHT + "PASSED" + TEXT_RESET);
-			passed++;
-		} else {
-			System.out.println(RED_BOLD_BRIGHT + "FAILED" + TEXT_RESET);
-			failed++;
-		}
 	}
 
 	public static void testReport() {
+		if (spool != null && !spool.flush(Long.getLong("results.spool.drain-ms", 10_000))) {
+			System.out.println(RED_BOLD_BRIGHT + "⚠️ " + spool.getPending()
+					+ " results not pushed yet, they are retried on the next run" + TEXT_RESET);
+		}
 
 		System.out.print("\n" + BLUE_BOLD_BRIGHT + "TEST CASES EVALUATED : " + total + TEXT_RESET);
 		System.out.print("\n" + GREEN_BOLD_BRIGHT + "PASSED : " + passed + TEXT_RESET);
@@ -191,10 +225,9 @@ public class TestUtils {
 
 	// convert object into JSON
 	public static String asJsonString(Object obj) {
-		ObjectMapper mapper = new ObjectMapper();
 		String jsonString = "";
 		try {
-			jsonString = mapper.writeValueAsString(obj);
+			jsonString = ResultSerializer.asJsonString(obj);
 //			System.out.println("jsonString");
 //			System.out.println(jsonString);
 		} catch (JsonProcessingException e) {
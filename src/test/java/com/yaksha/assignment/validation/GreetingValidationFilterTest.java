@@ -0,0 +1,76 @@
+package com.yaksha.assignment.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.yaksha.assignment.filter.GreetingValidationFilter;
+
+/**
+ * Drives the filter with mock requests and checks what the client gets back.
+ */
+public class GreetingValidationFilterTest {
+
+	private GreetingValidationFilter filter;
+
+	@BeforeEach
+	public void setUp() {
+		filter = new GreetingValidationFilter();
+		ReflectionTestUtils.setField(filter, "enabled", true);
+		ReflectionTestUtils.setField(filter, "validator", new GreetingValidator(1, 64, 0, 150));
+	}
+
+	@Test
+	public void testInvalidGreetingGetsPlainText400() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(request("/greet", "<script>", "25"), response, chain);
+
+		assertNull(chain.getRequest(), "the controller must not see the request");
+		assertEquals(400, response.getStatus());
+		assertEquals("text/plain;charset=UTF-8", response.getContentType());
+		assertEquals(GreetingValidator.NAME_CHARACTERS, response.getContentAsString());
+		assertEquals(GreetingValidator.NAME_CHARACTERS.length(), response.getContentLength());
+		assertEquals(0L, filter.getMetrics().get("accepted"));
+		assertEquals(1L, filter.getMetrics().get("rejected"));
+	}
+
+	@Test
+	public void testValidGreetingIsPassedOn() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(request("/greet", "Ada", "+36"), response, chain);
+
+		assertNotNull(chain.getRequest());
+		assertEquals(200, response.getStatus());
+		assertEquals(1L, filter.getMetrics().get("accepted"));
+	}
+
+	@Test
+	public void testOtherPathsAreNotValidated() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(request("/", null, null), new MockHttpServletResponse(), chain);
+
+		assertNotNull(chain.getRequest());
+		assertEquals(0L, filter.getMetrics().get("rejected"));
+	}
+
+	private static MockHttpServletRequest request(String path, String name, String age) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.setServletPath(path);
+		if (name != null) {
+			request.addParameter("name", name);
+		}
+		if (age != null) {
+			request.addParameter("age", age);
+		}
+		return request;
+	}
+}
@@ -0,0 +1,79 @@
+package com.yaksha.assignment.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Uses the default limits: names of 1 to 64 code points, ages 0 to 150.
+ */
+public class GreetingValidatorTest {
+
+	private final GreetingValidator validator = new GreetingValidator(1, 64, 0, 150);
+
+	@Test
+	public void testNamesFromManyScriptsAreAccepted() {
+		for (String name : new String[] { "John Smith", "O'Brien", "O’Brien", "Anne-Marie", "J. R. R.", "José",
+				"Zoë", "Łukasz", "Мария", "李小龍", "محمد", "𠀀" }) {
+			assertNull(validator.validateName(name), name);
+		}
+	}
+
+	@Test
+	public void testMarkupDigitsAndControlCharactersAreRejected() {
+		for (String name : new String[] { "<script>", "Bob1", "a&b", "a\"b", "a\nb", "a\u0000b", "\uD800",
+				"👋", new String(Character.toChars(0x30000)) }) {
+			assertEquals(GreetingValidator.NAME_CHARACTERS, validator.validateName(name), name);
+		}
+	}
+
+	@Test
+	public void testNameLengthIsCountedInCodePoints() {
+		assertEquals(GreetingValidator.NAME_MISSING, validator.validateName(null));
+		assertEquals(GreetingValidator.NAME_LENGTH, validator.validateName(""));
+		assertEquals(GreetingValidator.NAME_LENGTH, validator.validateName("   "));
+		assertNull(validator.validateName(repeat("a", 64)));
+		assertEquals(GreetingValidator.NAME_LENGTH, validator.validateName(repeat("a", 65)));
+
+		// 64 supplementary letters take 128 chars but are still 64 code points
+		String ideograph = "𠀀";
+		assertNull(validator.validateName(repeat(ideograph, 64)));
+		assertEquals(GreetingValidator.NAME_LENGTH, validator.validateName(repeat(ideograph, 65)));
+	}
+
+	@Test
+	public void testAgeIsParsedWithoutExceptions() {
+		assertNull(validator.validate("Ada", "25"));
+		assertNull(validator.validate("Ada", "+25"));
+		assertNull(validator.validate("Ada", "0"));
+		assertNull(validator.validate("Ada", "-0"));
+		assertNull(validator.validate("Ada", "150"));
+		assertNull(validator.validate("Ada", "000000150"));
+
+		assertEquals(GreetingValidator.AGE_MISSING, validator.validate("Ada", null));
+		assertEquals(GreetingValidator.AGE_MISSING, validator.validate("Ada", ""));
+		for (String age : new String[] { "+", "-", "2.5", " 25", "25 ", "twenty", "0x19", "1234567890",
+				"0000000025", "--1", "１２" }) {
+			assertEquals(GreetingValidator.AGE_NOT_A_NUMBER, validator.validate("Ada", age), age);
+		}
+		assertEquals(GreetingValidator.AGE_RANGE, validator.validate("Ada", "-1"));
+		assertEquals(GreetingValidator.AGE_RANGE, validator.validate("Ada", "151"));
+		assertEquals(GreetingValidator.AGE_RANGE, validator.validate("Ada", "999999999"));
+	}
+
+	@Test
+	public void testNameIsCheckedBeforeAge() {
+		assertEquals(GreetingValidator.NAME_CHARACTERS, validator.validate("<b>", "abc"));
+		assertEquals(GreetingValidator.NAME_MISSING, validator.validate(null, 25));
+		assertEquals(GreetingValidator.AGE_RANGE, validator.validate("Ada", 151));
+	}
+
+	private static String repeat(String s, int times) {
+		StringBuilder repeated = new StringBuilder();
+		for (int i = 0; i < times; i++) {
+			repeated.append(s);
+		}
+		return repeated.toString();
+	}
+}
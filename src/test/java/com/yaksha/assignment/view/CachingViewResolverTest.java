@@ -0,0 +1,129 @@
+package com.yaksha.assignment.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResourceLoader;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.view.InternalResourceViewResolver;
+import org.springframework.web.servlet.view.JstlView;
+
+/**
+ * Resolves views against a throwaway webapp directory whose view files the
+ * tests add as they go.
+ */
+public class CachingViewResolverTest {
+
+	private static final String PREFIX = "/WEB-INF/views/";
+
+	private Path webapp;
+	private MockServletContext servletContext;
+	private GenericWebApplicationContext context;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		webapp = Files.createTempDirectory("webapp");
+		Files.createDirectories(webapp.resolve("WEB-INF/views"));
+		servletContext = new MockServletContext(webapp.toUri().toString(), new FileSystemResourceLoader());
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.walk(webapp)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Test
+	public void testViewsAreResolvedAtStartup() throws Exception {
+		addView("greeting");
+		CachingViewResolver resolver = resolver(8, 60);
+
+		View greeting = resolver.resolveViewName("greeting", Locale.ENGLISH);
+		assertSame(greeting, resolver.resolveViewName("greeting", Locale.FRENCH));
+		assertEquals(2L, resolver.getMetrics().get("hits"));
+		assertEquals(0L, resolver.getMetrics().get("misses"));
+	}
+
+	@Test
+	public void testMissingViewStillForwardsSoTheContainerAnswers404() throws Exception {
+		CachingViewResolver resolver = resolver(8, 60);
+
+		View missing = resolver.resolveViewName("nope", Locale.ENGLISH);
+		assertNotNull(missing, "a null view would turn the missing page into a 500");
+		assertSame(missing, resolver.resolveViewName("nope", Locale.ENGLISH));
+		assertEquals(1L, resolver.getMetrics().get("negativeHits"));
+		assertEquals(0, resolver.getMetrics().get("views"));
+
+		MockHttpServletRequest request = new MockHttpServletRequest(servletContext);
+		request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, context);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		missing.render(Collections.emptyMap(), request, response);
+		assertEquals(PREFIX + "nope.jsp", response.getForwardedUrl());
+	}
+
+	@Test
+	public void testMissingViewIsRecheckedAfterTtl() throws Exception {
+		CachingViewResolver resolver = resolver(8, 0);
+		resolver.resolveViewName("late", Locale.ENGLISH);
+		addView("late");
+		resolver.resolveViewName("late", Locale.ENGLISH);
+
+		assertEquals(1, resolver.getMetrics().get("views"));
+		assertEquals(0, resolver.getMetrics().get("missingViews"));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedViewIsEvicted() throws Exception {
+		addView("a");
+		addView("b");
+		CachingViewResolver resolver = resolver(2, 60);
+
+		Thread.sleep(1);
+		resolver.resolveViewName("a", Locale.ENGLISH);
+		addView("c");
+		resolver.resolveViewName("c", Locale.ENGLISH);
+		assertEquals(1L, resolver.getMetrics().get("evictions"));
+
+		// b was used least recently
+		resolver.resolveViewName("a", Locale.ENGLISH);
+		resolver.resolveViewName("c", Locale.ENGLISH);
+		assertEquals(1L, resolver.getMetrics().get("misses"));
+		resolver.resolveViewName("b", Locale.ENGLISH);
+		assertEquals(2L, resolver.getMetrics().get("misses"));
+	}
+
+	private CachingViewResolver resolver(int maxSize, long negativeTtlSeconds) throws Exception {
+		context = new GenericWebApplicationContext(servletContext);
+		context.refresh();
+		InternalResourceViewResolver delegate = new InternalResourceViewResolver();
+		delegate.setViewClass(JstlView.class);
+		CachingViewResolver resolver = new CachingViewResolver(delegate, PREFIX, ".jsp", maxSize,
+				negativeTtlSeconds);
+		resolver.setServletContext(servletContext);
+		resolver.setApplicationContext(context);
+		resolver.afterPropertiesSet();
+		return resolver;
+	}
+
+	private void addView(String name) throws IOException {
+		Files.write(webapp.resolve("WEB-INF/views/" + name + ".jsp"), "<h2>${greetingMessage}</h2>".getBytes());
+	}
+}
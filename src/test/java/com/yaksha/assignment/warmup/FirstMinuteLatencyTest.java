@@ -0,0 +1,64 @@
+package com.yaksha.assignment.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.yaksha.assignment.filter.FirstMinuteLatencyFilter;
+
+/**
+ * Uses a short window in place of the minute, and drives the filter with
+ * mock requests to check which requests count.
+ */
+public class FirstMinuteLatencyTest {
+
+	@Test
+	public void testOnlyRequestsInsideTheWindowAreRecorded() throws Exception {
+		FirstMinuteLatency latency = new FirstMinuteLatency(TimeUnit.MILLISECONDS.toNanos(50));
+		assertEquals(0, latency.report().get("requests"));
+		assertFalse((Boolean) latency.report().get("complete"));
+
+		for (int i = 1; i <= 100; i++) {
+			latency.record(TimeUnit.MICROSECONDS.toNanos(i));
+		}
+		Thread.sleep(60);
+		latency.record(TimeUnit.SECONDS.toNanos(1));
+
+		Map<String, Object> report = latency.report();
+		assertEquals(100, report.get("requests"));
+		assertEquals(51L, report.get("p50Micros"));
+		assertEquals(100L, report.get("p99Micros"));
+		assertEquals(100L, report.get("maxMicros"));
+		assertTrue((Boolean) report.get("complete"));
+	}
+
+	@Test
+	public void testProbesDoNotStartTheWindowOrCount() throws Exception {
+		FirstMinuteLatency latency = new FirstMinuteLatency();
+		FirstMinuteLatencyFilter filter = new FirstMinuteLatencyFilter();
+		ReflectionTestUtils.setField(filter, "firstMinuteLatency", latency);
+
+		for (String path : new String[] { "/ready", "/metrics", "/drain" }) {
+			filter.doFilter(request(path), new MockHttpServletResponse(), new MockFilterChain());
+		}
+		assertEquals(0, latency.report().get("requests"));
+
+		filter.doFilter(request("/greet"), new MockHttpServletResponse(), new MockFilterChain());
+		assertEquals(1, latency.report().get("requests"));
+	}
+
+	private static MockHttpServletRequest request(String path) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.setServletPath(path);
+		return request;
+	}
+}